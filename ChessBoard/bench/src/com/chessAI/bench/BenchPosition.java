@@ -0,0 +1,30 @@
+package com.chessAI.bench;
+
+import com.chessAI.board.Board;
+import com.chessAI.board.FenUtilities;
+
+// The fixed positions every benchmark runs on, so numbers stay comparable
+// between commits.
+public enum BenchPosition {
+    ITALIAN("r1bqkb1r/pppp1ppp/2n2n2/4p3/2B1P3/5N2/PPPP1PPP/RNBQK2R w KQkq - 4 4"),
+    KIWIPETE("r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1"),
+    CLOSED_MIDDLEGAME("r4rk1/1pp1qppp/p1np1n2/2b1p1B1/2B1P1b1/P1NP1N2/1PP1QPPP/R4RK1 w - - 0 10"),
+    EN_PASSANT("rnbqkbnr/ppp1p1pp/8/3pPp2/8/8/PPPP1PPP/RNBQKBNR w KQkq f6 0 3"),
+    ROOK_ENDGAME("8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1"),
+    BACK_RANK_ENDGAME("6k1/5ppp/8/8/8/8/5PPP/3R2K1 w - - 0 1"),
+    PROMOTION_ENDGAME("8/P6k/8/8/8/8/6Kp/8 w - - 0 1");
+
+    private final String fen;
+
+    BenchPosition(final String fen) {
+        this.fen = fen;
+    }
+
+    public String getFen() {
+        return this.fen;
+    }
+
+    public Board createBoard() {
+        return FenUtilities.createGameFromFEN(this.fen);
+    }
+}
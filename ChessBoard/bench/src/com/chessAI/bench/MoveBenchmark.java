@@ -0,0 +1,83 @@
+package com.chessAI.bench;
+
+import com.chessAI.board.Board;
+import com.chessAI.board.Move;
+import com.chessAI.player.Player;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Move.execute for every legal move of one Move subclass found in the BenchPosition
+// set. Each operation executes the whole list.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Thread)
+public class MoveBenchmark {
+
+    public enum MoveKind {
+        MAJOR_MOVE(Move.MajorMove.class),
+        MAJOR_ATTACK_MOVE(Move.MajorAttackMove.class),
+        PAWN_MOVE(Move.PawnMove.class),
+        PAWN_ATTACK_MOVE(Move.PawnAttackMove.class),
+        PAWN_JUMP(Move.PawnJump.class),
+        PAWN_EN_PASSANT_ATTACK(Move.PawnEnPassantAttack.class),
+        PAWN_PROMOTION(Move.PawnPromotion.class),
+        KING_SIDE_CASTLE(Move.KingSideCastleMove.class),
+        QUEEN_SIDE_CASTLE(Move.QueenSideCastleMove.class);
+
+        private final Class<? extends Move> moveClass;
+
+        MoveKind(final Class<? extends Move> moveClass) {
+            this.moveClass = moveClass;
+        }
+
+        boolean matches(final Move move) {
+            return move.getClass() == this.moveClass;
+        }
+    }
+
+    @Param
+    public MoveKind moveKind;
+
+    private List<Move> moves;
+
+    @Setup
+    public void setUp() {
+        this.moves = new ArrayList<>();
+        for (final BenchPosition position : BenchPosition.values()) {
+            final Board board = position.createBoard();
+            final Player player = board.currentPlayer();
+            for (final Move move : player.getLegalMoves()) {
+                if (this.moveKind.matches(move) && player.makeMove(move).getMoveStatus().isDone()) {
+                    this.moves.add(move);
+                }
+            }
+        }
+        if (this.moves.isEmpty()) {
+            throw new IllegalStateException("No " + this.moveKind + " in the bench positions");
+        }
+    }
+
+    @Benchmark
+    public void execute(final Blackhole blackhole) {
+        for (final Move move : this.moves) {
+            blackhole.consume(move.execute());
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.chessAI.bench;
+
+import com.chessAI.board.Board;
+import com.chessAI.board.Move;
+import com.chessAI.board.Move.MoveFactory;
+import com.chessAI.player.Player;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+// Board memoizes its players and their move lists, so every invocation gets a
+// freshly parsed board and pays for the lazy work the way the GUI does.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Thread)
+public class PlayerBenchmark {
+
+    @Param
+    public BenchPosition position;
+
+    private Board board;
+    private int[] currentCoordinates;
+    private int[] destinationCoordinates;
+
+    @Setup(Level.Trial)
+    public void collectMoveCoordinates() {
+        final Collection<Move> legalMoves = this.position.createBoard().currentPlayer().getLegalMoves();
+        this.currentCoordinates = new int[legalMoves.size()];
+        this.destinationCoordinates = new int[legalMoves.size()];
+        int i = 0;
+        for (final Move move : legalMoves) {
+            this.currentCoordinates[i] = move.getCurrentCoordinate();
+            this.destinationCoordinates[i] = move.getDestinationCoordinate();
+            i++;
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void createBoard() {
+        this.board = this.position.createBoard();
+    }
+
+    @Benchmark
+    public void makeMove(final Blackhole blackhole) {
+        final Player player = this.board.currentPlayer();
+        for (final Move move : player.getLegalMoves()) {
+            blackhole.consume(player.makeMove(move));
+        }
+    }
+
+    @Benchmark
+    public boolean isInCheckMate() {
+        return this.board.currentPlayer().isInCheckMate();
+    }
+
+    @Benchmark
+    public void createMove(final Blackhole blackhole) {
+        for (int i = 0; i < this.currentCoordinates.length; i++) {
+            blackhole.consume(MoveFactory.createMove(this.board, this.currentCoordinates[i], this.destinationCoordinates[i]));
+        }
+    }
+}
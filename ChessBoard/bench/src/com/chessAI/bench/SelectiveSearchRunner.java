@@ -0,0 +1,63 @@
+package com.chessAI.bench;
+
+import com.chessAI.engine.PositionSearch;
+import com.chessAI.engine.SearchConfig;
+import com.chessAI.engine.SearchLimits;
+import com.chessAI.engine.SearchResult;
+import com.chessAI.engine.TranspositionTable;
+
+// Depth reached at a fixed time by the selective search techniques. Every middlegame
+// BenchPosition is searched for the same time with the full-width search, with each
+// technique switched on alone, and with all of them, and the completed depths and
+// nodes are summed:
+//   SelectiveSearchRunner [moveTimeMillis] [tableMegabytes]
+// Not a JMH benchmark, for the same reason as TimeToDepthRunner.
+public final class SelectiveSearchRunner {
+
+    private static final BenchPosition[] POSITIONS = {
+            BenchPosition.ITALIAN, BenchPosition.KIWIPETE, BenchPosition.CLOSED_MIDDLEGAME
+    };
+
+    private SelectiveSearchRunner() {
+        throw new RuntimeException("Not Instantiable");
+    }
+
+    public static void main(final String[] args) {
+        final long moveTimeMillis = args.length > 0 ? Long.parseLong(args[0]) : 2000;
+        final int tableMegabytes = args.length > 1 ? Integer.parseInt(args[1]) : 64;
+        final SearchLimits limits = new SearchLimits.Builder().setMoveTimeMillis(moveTimeMillis).build();
+        final TranspositionTable table = new TranspositionTable.Builder().setSizeInMegabytes(tableMegabytes).build();
+        final SearchConfig fullWidth = new SearchConfig.Builder().setFullWidth().build();
+        final SearchConfig[] configs = {
+                fullWidth,
+                new SearchConfig.Builder().setFullWidth().setNullMovePruning(true).build(),
+                new SearchConfig.Builder().setFullWidth().setLateMoveReductions(true).build(),
+                new SearchConfig.Builder().setFullWidth().setFutilityPruning(true).build(),
+                new SearchConfig.Builder().setFullWidth().setRazoring(true).build(),
+                new SearchConfig.Builder().setFullWidth().setCheckExtensions(true).build(),
+                new SearchConfig.Builder().build()
+        };
+
+        // one untimed pass so the JIT has compiled the search before anything is measured
+        run(table, limits, fullWidth);
+
+        System.out.println("depth  nodes        config");
+        for (final SearchConfig config : configs) {
+            final long[] totals = run(table, limits, config);
+            System.out.println(String.format("%-6d %-12d %s", totals[0], totals[1],
+                    config == fullWidth ? "full-width" : config));
+        }
+    }
+
+    // summed completed depths and nodes over every position
+    private static long[] run(final TranspositionTable table, final SearchLimits limits, final SearchConfig config) {
+        final long[] totals = new long[2];
+        for (final BenchPosition position : POSITIONS) {
+            table.clear();
+            final SearchResult result = new PositionSearch(position.createBoard(), table, config).search(limits);
+            totals[0] += result.getDepth();
+            totals[1] += result.getNodes();
+        }
+        return totals;
+    }
+}
@@ -0,0 +1,58 @@
+package com.chessAI.bench;
+
+import com.chessAI.engine.LazySmpSearch;
+import com.chessAI.engine.SearchLimits;
+import com.chessAI.engine.SearchResult;
+import com.chessAI.engine.TranspositionTable;
+
+// Time-to-depth of the Lazy SMP search against one thread. Every middlegame
+// BenchPosition is searched to the same depth with an empty table for each
+// thread count, and the summed time is compared with the single thread's:
+//   TimeToDepthRunner [depth] [maxThreads] [tableMegabytes]
+// Not a JMH benchmark: a single search is long enough to time on its own and
+// the speedup is the number wanted, not the search time.
+public final class TimeToDepthRunner {
+
+    private static final BenchPosition[] POSITIONS = {
+            BenchPosition.ITALIAN, BenchPosition.KIWIPETE, BenchPosition.CLOSED_MIDDLEGAME
+    };
+
+    private TimeToDepthRunner() {
+        throw new RuntimeException("Not Instantiable");
+    }
+
+    public static void main(final String[] args) {
+        final int depth = args.length > 0 ? Integer.parseInt(args[0]) : 8;
+        final int maxThreads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        final int tableMegabytes = args.length > 2 ? Integer.parseInt(args[2]) : 64;
+        final SearchLimits limits = new SearchLimits.Builder().setDepth(depth).build();
+        final TranspositionTable table = new TranspositionTable.Builder().setSizeInMegabytes(tableMegabytes).build();
+
+        // one untimed pass so the JIT has compiled the search before the single thread is timed
+        run(table, limits, 1);
+
+        long singleThreadMillis = 0;
+        System.out.println("threads  time(ms)  nodes        nps        speedup");
+        for (int threads = 1; threads <= maxThreads; threads *= 2) {
+            final long[] totals = run(table, limits, threads);
+            if (threads == 1) {
+                singleThreadMillis = totals[0];
+            }
+            System.out.println(String.format("%-8d %-9d %-12d %-10d %.2f", threads, totals[0], totals[1],
+                    totals[1] * 1000 / Math.max(1, totals[0]), (double) singleThreadMillis / Math.max(1, totals[0])));
+        }
+    }
+
+    // summed milliseconds and nodes over every position
+    private static long[] run(final TranspositionTable table, final SearchLimits limits, final int threads) {
+        final long[] totals = new long[2];
+        for (final BenchPosition position : POSITIONS) {
+            table.clear();
+            final long start = System.nanoTime();
+            final SearchResult result = new LazySmpSearch(position.createBoard(), threads, table).search(limits);
+            totals[0] += (System.nanoTime() - start) / 1000000;
+            totals[1] += result.getNodes();
+        }
+        return totals;
+    }
+}
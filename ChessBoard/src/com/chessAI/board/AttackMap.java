@@ -0,0 +1,122 @@
+package com.chessAI.board;
+
+import com.chessAI.Alliance;
+import com.chessAI.piece.Piece.PieceType;
+
+import static com.chessAI.board.BitBoard.clearLowestSquare;
+import static com.chessAI.board.BitBoard.lowestSquare;
+import static com.chessAI.board.BoardUtils.NUM_TILES;
+
+// Which tiles each alliance attacks, and by how many pieces, for one position.
+// Built once from the bitboards and shared by check detection, castling and
+// evaluation, so none of them has to scan move lists. A board made by a move
+// derives its map from the parent's and only recomputes the pieces on the tiles
+// the move changed and the sliders whose rays cross one of them.
+public final class AttackMap {
+
+    private final long[] attacksFrom;
+    private final long[] attacked;
+    private final byte[][] attackerCounts;
+    private final long[] occupancy;
+
+    AttackMap(final BitBoard bitBoard) {
+        this.attacksFrom = new long[NUM_TILES];
+        this.attacked = new long[2];
+        this.attackerCounts = new byte[2][NUM_TILES];
+        this.occupancy = new long[]{bitBoard.getOccupancy(Alliance.WHITE), bitBoard.getOccupancy(Alliance.BLACK)};
+        final long occupied = bitBoard.getOccupancy();
+        for (final Alliance alliance : Alliance.values()) {
+            for (final PieceType pieceType : PieceType.values()) {
+                for (long pieces = bitBoard.getPieces(alliance, pieceType); pieces != 0; pieces = clearLowestSquare(pieces)) {
+                    final int square = lowestSquare(pieces);
+                    addAttacks(alliance, square, attacksFrom(alliance, pieceType, square, occupied));
+                }
+            }
+        }
+    }
+
+    // changedSquares holds every tile whose piece differs from the parent's
+    AttackMap(final BitBoard bitBoard, final AttackMap parent, final long changedSquares) {
+        this.attacksFrom = parent.attacksFrom.clone();
+        this.attacked = new long[2];
+        this.attackerCounts = new byte[][]{parent.attackerCounts[0].clone(), parent.attackerCounts[1].clone()};
+        this.occupancy = new long[]{bitBoard.getOccupancy(Alliance.WHITE), bitBoard.getOccupancy(Alliance.BLACK)};
+        final long occupied = this.occupancy[0] | this.occupancy[1];
+
+        long stale = changedSquares & (parent.occupancy[0] | parent.occupancy[1]);
+        // a slider that did not move sees further or shorter only if a tile on its rays changed
+        for (long sliders = (bitBoard.getPieces(PieceType.BISHOP) | bitBoard.getPieces(PieceType.ROOK)
+                | bitBoard.getPieces(PieceType.QUEEN)) & ~changedSquares; sliders != 0; sliders = clearLowestSquare(sliders)) {
+            final int square = lowestSquare(sliders);
+            if ((parent.attacksFrom[square] & changedSquares) != 0) {
+                stale |= BitBoard.squareBit(square);
+            }
+        }
+        for (long squares = stale; squares != 0; squares = clearLowestSquare(squares)) {
+            final int square = lowestSquare(squares);
+            removeAttacks((parent.occupancy[0] & BitBoard.squareBit(square)) != 0 ? 0 : 1, square,
+                    parent.attacksFrom[square]);
+        }
+        for (long squares = (stale | changedSquares) & occupied; squares != 0; squares = clearLowestSquare(squares)) {
+            final int square = lowestSquare(squares);
+            final Alliance alliance = (this.occupancy[0] & BitBoard.squareBit(square)) != 0 ? Alliance.WHITE : Alliance.BLACK;
+            addAttacks(alliance, square, attacksFrom(alliance, typeAt(bitBoard, alliance, square), square, occupied));
+        }
+        for (int alliance = 0; alliance < 2; alliance++) {
+            long attacks = 0L;
+            for (long pieces = this.occupancy[alliance]; pieces != 0; pieces = clearLowestSquare(pieces)) {
+                attacks |= this.attacksFrom[lowestSquare(pieces)];
+            }
+            this.attacked[alliance] = attacks;
+        }
+    }
+
+    public static long attacksFrom(final Alliance alliance, final PieceType pieceType, final int square,
+                                   final long occupied) {
+        return pieceType == PieceType.PAWN ? BoardUtils.PAWN_ATTACKS[alliance.ordinal()][square]
+                : MoveGenerator.attacksFrom(pieceType, square, occupied);
+    }
+
+    public boolean isSquareAttacked(final int square, final Alliance attacker) {
+        return (this.attacked[attacker.ordinal()] & BitBoard.squareBit(square)) != 0;
+    }
+
+    public int getAttackerCount(final int square, final Alliance attacker) {
+        return this.attackerCounts[attacker.ordinal()][square];
+    }
+
+    public long getAttackedSquares(final Alliance attacker) {
+        return this.attacked[attacker.ordinal()];
+    }
+
+    // the tiles attacked by the piece standing on the given tile, 0 if it is empty
+    public long getAttacksFrom(final int square) {
+        return this.attacksFrom[square];
+    }
+
+    private void addAttacks(final Alliance alliance, final int square, final long attacks) {
+        this.attacksFrom[square] = attacks;
+        this.attacked[alliance.ordinal()] |= attacks;
+        final byte[] counts = this.attackerCounts[alliance.ordinal()];
+        for (long targets = attacks; targets != 0; targets = clearLowestSquare(targets)) {
+            counts[lowestSquare(targets)]++;
+        }
+    }
+
+    private void removeAttacks(final int alliance, final int square, final long attacks) {
+        this.attacksFrom[square] = 0L;
+        final byte[] counts = this.attackerCounts[alliance];
+        for (long targets = attacks; targets != 0; targets = clearLowestSquare(targets)) {
+            counts[lowestSquare(targets)]--;
+        }
+    }
+
+    private static PieceType typeAt(final BitBoard bitBoard, final Alliance alliance, final int square) {
+        for (final PieceType pieceType : PieceType.values()) {
+            if ((bitBoard.getPieces(alliance, pieceType) & BitBoard.squareBit(square)) != 0) {
+                return pieceType;
+            }
+        }
+        throw new RuntimeException("No piece on tile " + square);
+    }
+}
@@ -0,0 +1,105 @@
+package com.chessAI.board;
+
+import com.chessAI.Alliance;
+import com.chessAI.piece.Piece.PieceType;
+
+import java.util.Arrays;
+
+// One 64-bit word per piece type and alliance. Bit i is tile coordinate i, so
+// bit 0 is a8 and bit 63 is h1, the same numbering Board and Tile use.
+public final class BitBoard {
+
+    public static final int NUM_PIECE_TYPES = 6;
+
+    private final long[] pieceBoards;
+    private final long whiteOccupancy;
+    private final long blackOccupancy;
+
+    // takes ownership of the array, one word per alliance and piece type as laid out by index()
+    BitBoard(final long[] pieceBoards) {
+        this.pieceBoards = pieceBoards;
+        long white = 0L;
+        long black = 0L;
+        for (int i = 0; i < NUM_PIECE_TYPES; i++) {
+            white |= pieceBoards[i];
+            black |= pieceBoards[NUM_PIECE_TYPES + i];
+        }
+        this.whiteOccupancy = white;
+        this.blackOccupancy = black;
+    }
+
+    public long getPieces(final Alliance alliance, final PieceType pieceType) {
+        return this.pieceBoards[index(alliance, pieceType)];
+    }
+
+    public long getPieces(final PieceType pieceType) {
+        return this.pieceBoards[index(Alliance.WHITE, pieceType)] | this.pieceBoards[index(Alliance.BLACK, pieceType)];
+    }
+
+    long[] copyPieceBoards() {
+        return this.pieceBoards.clone();
+    }
+
+    public long getOccupancy(final Alliance alliance) {
+        return alliance.isWhite() ? this.whiteOccupancy : this.blackOccupancy;
+    }
+
+    public long getOccupancy() {
+        return this.whiteOccupancy | this.blackOccupancy;
+    }
+
+    public long getEmptySquares() {
+        return ~getOccupancy();
+    }
+
+    public boolean isOccupied(final int tileCoordinate) {
+        return (getOccupancy() & squareBit(tileCoordinate)) != 0;
+    }
+
+    public boolean isOccupiedBy(final int tileCoordinate, final Alliance alliance) {
+        return (getOccupancy(alliance) & squareBit(tileCoordinate)) != 0;
+    }
+
+    public static long squareBit(final int tileCoordinate) {
+        return 1L << tileCoordinate;
+    }
+
+    public static int lowestSquare(final long bitboard) {
+        return Long.numberOfTrailingZeros(bitboard);
+    }
+
+    public static long clearLowestSquare(final long bitboard) {
+        return bitboard & (bitboard - 1);
+    }
+
+    public static int countSquares(final long bitboard) {
+        return Long.bitCount(bitboard);
+    }
+
+    static int index(final Alliance alliance, final PieceType pieceType) {
+        return alliance.ordinal() * NUM_PIECE_TYPES + pieceType.ordinal();
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        return this == other || other instanceof BitBoard && Arrays.equals(this.pieceBoards, ((BitBoard) other).pieceBoards);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(this.pieceBoards);
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder builder = new StringBuilder();
+        final long occupancy = getOccupancy();
+        for (int i = 0; i < BoardUtils.NUM_TILES; i++) {
+            builder.append((occupancy & squareBit(i)) != 0 ? " 1" : " .");
+            if ((i + 1) % BoardUtils.NUM_TILE_PER_ROW == 0) {
+                builder.append("\n");
+            }
+        }
+        return builder.toString();
+    }
+}
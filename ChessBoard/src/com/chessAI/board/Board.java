@@ -5,48 +5,74 @@ import com.chessAI.piece.*;
 import com.chessAI.player.BlackPlayer;
 import com.chessAI.player.Player;
 import com.chessAI.player.WhitePlayer;
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Iterables;
 
 import java.util.*;
 import java.util.Collection;
-import java.util.HashMap;
-import java.util.Map;
 
 
 
 public class Board {
 
-    private final List<Tile> gameBoard;
+    // one array per rank, shared with the parent board for every rank the move left alone
+    private final Tile[][] ranks;
+    private final BitBoard bitBoard;
     private final Collection<Piece> whitePieces;
     private final Collection<Piece> blackPieces;
-    private final WhitePlayer whitePlayer;
-    private final BlackPlayer blackPlayer;
-    private final Player currentPlayer;
-
+    private final Alliance nextMoveMaker;
     private final Pawn enPassantPawn;
+    private final int castlingRights;
+    private final long zobristHash;
+    private final int midgameScore;
+    private final int endgameScore;
+    private final int gamePhase;
+
+    // computed on first access, most intermediate boards never need them
+    private final Supplier<Collection<Move>> whiteStandardLegalMoves;
+    private final Supplier<Collection<Move>> blackStandardLegalMoves;
+    private final Supplier<WhitePlayer> whitePlayer;
+    private final Supplier<BlackPlayer> blackPlayer;
+    // the parent's attack map and the tiles the move changed, kept only until this board's
+    // map has been derived from them
+    private AttackMap parentAttackMap;
+    private final long changedSquares;
+    private volatile AttackMap attackMap;
 
 
     public Board(final Builder builder) {
-        this.gameBoard = createGameBoard(builder);
-        this.whitePieces = calculateActivePieces(this.gameBoard, Alliance.WHITE);
-        this.blackPieces = calculateActivePieces(this.gameBoard, Alliance.BLACK);
-
-        final Collection<Move> whiteStandardLegalMoves = calculateLegalMoves(this.whitePieces);
-        final Collection<Move> blackStandardLegalMoves = calculateLegalMoves(this.blackPieces);
-
-        this.whitePlayer = new WhitePlayer(this, whiteStandardLegalMoves, blackStandardLegalMoves);
-        this.blackPlayer = new BlackPlayer(this, whiteStandardLegalMoves, blackStandardLegalMoves);
-        this.currentPlayer = builder.nextMoveMaker.choosePlayer(this.whitePlayer, this.blackPlayer);
+        this.ranks = builder.ranks.clone();
+        // the rank arrays now belong to this board, the builder has to copy them again before writing
+        builder.ownedRanks = 0;
+        this.bitBoard = new BitBoard(builder.pieceBoards.clone());
+        final Board parent = builder.parent;
+        // only a map the parent already has is worth deriving from, it is never computed for that
+        this.parentAttackMap = parent != null ? parent.attackMap : null;
+        this.changedSquares = builder.changedSquares;
+        this.whitePieces = parent != null && !builder.whiteChanged ? parent.whitePieces : calculateActivePieces(Alliance.WHITE);
+        this.blackPieces = parent != null && !builder.blackChanged ? parent.blackPieces : calculateActivePieces(Alliance.BLACK);
+        this.nextMoveMaker = builder.nextMoveMaker;
         this.enPassantPawn = builder.enPassantPawn;
-
+        this.castlingRights = Position.calculateCastlingRights(this);
+        // moves hand over the parent key with only their changes applied, other boards hash from scratch
+        this.zobristHash = builder.zobristHashKnown ? builder.zobristHash : Zobrist.calculateHash(this);
+        this.midgameScore = builder.midgameScore;
+        this.endgameScore = builder.endgameScore;
+        this.gamePhase = builder.gamePhase;
+
+        this.whiteStandardLegalMoves = Suppliers.memoize(() -> calculateLegalMoves(this.whitePieces));
+        this.blackStandardLegalMoves = Suppliers.memoize(() -> calculateLegalMoves(this.blackPieces));
+        this.whitePlayer = Suppliers.memoize(() -> new WhitePlayer(this, this.whiteStandardLegalMoves));
+        this.blackPlayer = Suppliers.memoize(() -> new BlackPlayer(this, this.blackStandardLegalMoves));
     }
 
     @Override
     public String toString(){
         final StringBuilder builder = new StringBuilder();
         for (int i = 0; i < 64; i++){
-            final String tileText = this.gameBoard.get(i).toString();
+            final String tileText = getTile(i).toString();
             builder.append(String.format("%3s", tileText));
             if((i + 1 ) % 8 == 0){
                 builder.append("\n");
@@ -55,20 +81,72 @@ public class Board {
         return builder.toString();
     }
 
+    @Override
+    public boolean equals(final Object other){
+        if (this == other){
+            return true;
+        }
+        if (!(other instanceof Board)){
+            return false;
+        }
+        final Board otherBoard = (Board) other;
+        return this.zobristHash == otherBoard.zobristHash &&
+                this.nextMoveMaker == otherBoard.nextMoveMaker &&
+                this.castlingRights == otherBoard.castlingRights &&
+                getEnPassantSquare() == otherBoard.getEnPassantSquare() &&
+                this.bitBoard.equals(otherBoard.bitBoard);
+    }
+
+    @Override
+    public int hashCode(){
+        return (int) (this.zobristHash ^ (this.zobristHash >>> 32));
+    }
+
     public Pawn getEnPassantPawn(){
         return this.enPassantPawn;
     }
 
+    // the tile a pawn capturing en passant lands on, Position.NO_SQUARE if there is none
+    public int getEnPassantSquare(){
+        return this.enPassantPawn == null ? Position.NO_SQUARE :
+                this.enPassantPawn.getPiecePosition() - (8 * this.enPassantPawn.getPieceAlliance().getDirection());
+    }
+
+    public int getCastlingRights(){
+        return this.castlingRights;
+    }
+
+    public long getZobristHash(){
+        return this.zobristHash;
+    }
+
+    // white's middlegame material and piece-square score minus black's
+    public int getMidgameScore(){
+        return this.midgameScore;
+    }
+
+    public int getEndgameScore(){
+        return this.endgameScore;
+    }
+
+    public int getGamePhase(){
+        return this.gamePhase;
+    }
+
+    public Alliance getMoveMaker(){
+        return this.nextMoveMaker;
+    }
+
     public Player whitePlayer(){
-        return this.whitePlayer;
+        return this.whitePlayer.get();
     }
 
     public Player blackPlayer(){
-        return this.blackPlayer;
+        return this.blackPlayer.get();
     }
 
     public Player currentPlayer(){
-        return this.currentPlayer;
+        return this.nextMoveMaker.choosePlayer(this.whitePlayer.get(), this.blackPlayer.get());
     }
 
     public Collection<Piece> getBlackPieces(){
@@ -87,30 +165,43 @@ public class Board {
         return ImmutableList.copyOf(legalMoves);
     }
 
-    private static Collection<Piece> calculateActivePieces(final List<Tile> gameBoard, final Alliance alliance) {
+    private Collection<Piece> calculateActivePieces(final Alliance alliance) {
         final List<Piece> activePieces = new ArrayList<>();
 
-        for (final Tile tile : gameBoard){
-            if(tile.isTileOccupied()){
-                final Piece piece = tile.getPiece();
-                if (piece.getPieceAlliance() == alliance){
-                    activePieces.add(piece);
-                }
-            }
+        for (long occupied = this.bitBoard.getOccupancy(alliance); occupied != 0;
+             occupied = BitBoard.clearLowestSquare(occupied)){
+            activePieces.add(getTile(BitBoard.lowestSquare(occupied)).getPiece());
         }
         return ImmutableList.copyOf(activePieces);
     }
 
     public Tile getTile(final int tileCoordinate) {
-        return gameBoard.get(tileCoordinate);
+        return this.ranks[tileCoordinate >>> 3][tileCoordinate & 7];
+    }
+
+    public BitBoard getBitBoard(){
+        return this.bitBoard;
     }
 
-    private static List<Tile> createGameBoard(final Builder builder){
-        final Tile[] tiles = new Tile[64];
-        for (int i = 0; i < 64; i ++){
-            tiles[i] = Tile.createTile(i, builder.boardConfig.get(i));
+    public boolean isTileOccupied(final int tileCoordinate){
+        return this.bitBoard.isOccupied(tileCoordinate);
+    }
+
+    // two threads may both compute it, they get equal maps and either one is kept
+    public AttackMap getAttackMap(){
+        AttackMap attackMap = this.attackMap;
+        if (attackMap == null){
+            final AttackMap parentAttackMap = this.parentAttackMap;
+            attackMap = parentAttackMap != null ? new AttackMap(this.bitBoard, parentAttackMap, this.changedSquares)
+                    : new AttackMap(this.bitBoard);
+            this.attackMap = attackMap;
+            this.parentAttackMap = null;
         }
-        return ImmutableList.copyOf(tiles);
+        return attackMap;
+    }
+
+    public boolean isSquareAttacked(final int tileCoordinate, final Alliance attacker){
+        return getAttackMap().isSquareAttacked(tileCoordinate, attacker);
     }
 
     public static Board createStandardBoard(){
@@ -155,24 +246,103 @@ public class Board {
     }
 
     public Iterable<Move> getAllLegalMoves(){
-        return Iterables.unmodifiableIterable(Iterables.concat(this.whitePlayer.getLegalMoves(), this.blackPlayer.getLegalMoves()));
+        return Iterables.unmodifiableIterable(Iterables.concat(whitePlayer().getLegalMoves(), blackPlayer().getLegalMoves()));
     }
 
     public static class Builder {
 
-        Map<Integer, Piece> boardConfig;
+        final Tile[][] ranks;
+        final long[] pieceBoards;
+        final Board parent;
         Alliance nextMoveMaker;
         Pawn enPassantPawn;
+        long zobristHash;
+        // false until a move hands over its patched key, the board then hashes from scratch
+        boolean zobristHashKnown;
+        // bit r is set once rank r has been copied and may be written in place
+        int ownedRanks;
+        long changedSquares;
+        boolean whiteChanged;
+        boolean blackChanged;
+        // the piece-square sums, patched by setPiece and clearTile like the piece boards
+        int midgameScore;
+        int endgameScore;
+        int gamePhase;
 
         public Builder() {
-            this.boardConfig = new HashMap<>();
+            this.ranks = new Tile[BoardUtils.NUM_TILE_PER_ROW][];
+            for (int rank = 0; rank < BoardUtils.NUM_TILE_PER_ROW; rank++) {
+                this.ranks[rank] = new Tile[BoardUtils.NUM_TILE_PER_ROW];
+                for (int file = 0; file < BoardUtils.NUM_TILE_PER_ROW; file++) {
+                    final int coordinate = rank * BoardUtils.NUM_TILE_PER_ROW + file;
+                    this.ranks[rank][file] = Tile.createTile(coordinate, null);
+                }
+            }
+            this.ownedRanks = 0xFF;
+            this.pieceBoards = new long[2 * BitBoard.NUM_PIECE_TYPES];
+            this.parent = null;
+        }
+
+        // starts from the given board and shares its ranks until a tile on them changes,
+        // the side to move, en passant pawn and hash still have to be set
+        public Builder(final Board board) {
+            this.ranks = board.ranks.clone();
+            this.pieceBoards = board.bitBoard.copyPieceBoards();
+            this.parent = board;
+            this.midgameScore = board.midgameScore;
+            this.endgameScore = board.endgameScore;
+            this.gamePhase = board.gamePhase;
+        }
+
+        Piece getPiece(final int coordinate) {
+            return this.ranks[coordinate >>> 3][coordinate & 7].getPiece();
         }
 
         public Builder setPiece(final Piece piece) {
-            this.boardConfig.put(piece.getPiecePosition(), piece);
+            final int coordinate = piece.getPiecePosition();
+            clearTile(coordinate);
+            setTile(coordinate, Tile.createTile(coordinate, piece));
+            final int pieceCode = BitBoard.index(piece.getPieceAlliance(), piece.getPieceType());
+            this.pieceBoards[pieceCode] |= BitBoard.squareBit(coordinate);
+            this.midgameScore += PieceSquareTable.midgame(pieceCode, coordinate);
+            this.endgameScore += PieceSquareTable.endgame(pieceCode, coordinate);
+            this.gamePhase += PieceSquareTable.phase(pieceCode);
+            markChanged(piece.getPieceAlliance());
             return this;
         }
 
+        public Builder clearTile(final int coordinate) {
+            final Piece piece = getPiece(coordinate);
+            if (piece != null) {
+                final int pieceCode = BitBoard.index(piece.getPieceAlliance(), piece.getPieceType());
+                this.pieceBoards[pieceCode] &= ~BitBoard.squareBit(coordinate);
+                this.midgameScore -= PieceSquareTable.midgame(pieceCode, coordinate);
+                this.endgameScore -= PieceSquareTable.endgame(pieceCode, coordinate);
+                this.gamePhase -= PieceSquareTable.phase(pieceCode);
+                setTile(coordinate, Tile.createTile(coordinate, null));
+                markChanged(piece.getPieceAlliance());
+            }
+            return this;
+        }
+
+        private void setTile(final int coordinate, final Tile tile) {
+            final int rank = coordinate >>> 3;
+            if ((this.ownedRanks & (1 << rank)) == 0) {
+                this.ranks[rank] = this.ranks[rank].clone();
+                this.ownedRanks |= 1 << rank;
+            }
+            this.ranks[rank][coordinate & 7] = tile;
+            this.changedSquares |= BitBoard.squareBit(coordinate);
+        }
+
+        private void markChanged(final Alliance alliance) {
+            if (alliance.isWhite()) {
+                this.whiteChanged = true;
+            } else {
+                this.blackChanged = true;
+            }
+        }
+
         public Builder setMoveMaker(final Alliance nextMoveMaker) {
             this.nextMoveMaker = nextMoveMaker;
             return this;
@@ -187,6 +357,12 @@ public class Board {
             return this;
         }
 
+        Builder setZobristHash(final long zobristHash) {
+            this.zobristHash = zobristHash;
+            this.zobristHashKnown = true;
+            return this;
+        }
+
     }
 
 }
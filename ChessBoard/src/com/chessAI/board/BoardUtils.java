@@ -1,7 +1,5 @@
 package com.chessAI.board;
 
-import com.sun.org.apache.bcel.internal.generic.INSTANCEOF;
-
 import java.util.*;
 
 public class BoardUtils {
@@ -28,6 +26,38 @@ public class BoardUtils {
     public static final int NUM_TILES = 64;
     public static final int NUM_TILE_PER_ROW = 8;
 
+    public static final long[] KNIGHT_ATTACKS = initLeaperAttacks(new int[][]{
+            {-2, -1}, {-2, 1}, {-1, -2}, {-1, 2}, {1, -2}, {1, 2}, {2, -1}, {2, 1}});
+    public static final long[] KING_ATTACKS = initLeaperAttacks(new int[][]{
+            {-1, -1}, {-1, 0}, {-1, 1}, {0, -1}, {0, 1}, {1, -1}, {1, 0}, {1, 1}});
+    // indexed by Alliance ordinal, white pawns capture towards row 0
+    public static final long[][] PAWN_ATTACKS = {
+            initLeaperAttacks(new int[][]{{-1, -1}, {-1, 1}}),
+            initLeaperAttacks(new int[][]{{1, -1}, {1, 1}})};
+
+    // tiles strictly between two tiles on a shared rank, file or diagonal, else 0
+    public static final long[][] SQUARES_BETWEEN = new long[NUM_TILES][NUM_TILES];
+    // the whole rank, file or diagonal through two aligned tiles, else 0
+    public static final long[][] LINE_THROUGH = new long[NUM_TILES][NUM_TILES];
+
+    static {
+        for (int from = START_TILE_INDEX; from < NUM_TILES; from++) {
+            for (int to = START_TILE_INDEX; to < NUM_TILES; to++) {
+                if (from == to) {
+                    continue;
+                }
+                final long ends = (1L << from) | (1L << to);
+                if ((MagicBitboards.rookAttacks(from, 0L) & (1L << to)) != 0) {
+                    SQUARES_BETWEEN[from][to] = MagicBitboards.rookAttacks(from, 1L << to) & MagicBitboards.rookAttacks(to, 1L << from);
+                    LINE_THROUGH[from][to] = (MagicBitboards.rookAttacks(from, 0L) & MagicBitboards.rookAttacks(to, 0L)) | ends;
+                } else if ((MagicBitboards.bishopAttacks(from, 0L) & (1L << to)) != 0) {
+                    SQUARES_BETWEEN[from][to] = MagicBitboards.bishopAttacks(from, 1L << to) & MagicBitboards.bishopAttacks(to, 1L << from);
+                    LINE_THROUGH[from][to] = (MagicBitboards.bishopAttacks(from, 0L) & MagicBitboards.bishopAttacks(to, 0L)) | ends;
+                }
+            }
+        }
+    }
+
 
     private static boolean[] initColumn(int colNum){
         final boolean[] column = new boolean[NUM_TILES];
@@ -50,6 +80,23 @@ public class BoardUtils {
         return row;
     }
 
+    private static long[] initLeaperAttacks(final int[][] rowColumnOffsets) {
+        final long[] attacks = new long[NUM_TILES];
+        for (int i = START_TILE_INDEX; i < NUM_TILES; i++) {
+            final int row = i / NUM_TILE_PER_ROW;
+            final int column = i % NUM_TILE_PER_ROW;
+            for (final int[] offset : rowColumnOffsets) {
+                final int candidateRow = row + offset[0];
+                final int candidateColumn = column + offset[1];
+                if (candidateRow >= 0 && candidateRow < NUM_TILE_PER_ROW &&
+                        candidateColumn >= 0 && candidateColumn < NUM_TILE_PER_ROW) {
+                    attacks[i] |= 1L << (candidateRow * NUM_TILE_PER_ROW + candidateColumn);
+                }
+            }
+        }
+        return attacks;
+    }
+
     private Map<String, Integer> initializePositionToCoordinateMap() {
         final Map<String, Integer> positionToCoordinate = new HashMap<>();
         for (int i = START_TILE_INDEX; i < NUM_TILES; i++) {
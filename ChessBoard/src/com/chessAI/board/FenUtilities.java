@@ -0,0 +1,142 @@
+package com.chessAI.board;
+
+import com.chessAI.Alliance;
+import com.chessAI.piece.*;
+
+// Reads and writes Forsyth-Edwards Notation. Board keeps no move clocks, so they
+// are ignored when reading and written as "0 1". Castling rights become the
+// first-move flags of the king and rooks, which is all Board looks at.
+public final class FenUtilities {
+
+    private FenUtilities() {
+        throw new RuntimeException("Not Instantiable");
+    }
+
+    public static Board createGameFromFEN(final String fenString) {
+        final String[] fields = fenString.trim().split("\\s+");
+        if (fields.length < 4) {
+            throw new IllegalArgumentException("Invalid FEN: " + fenString);
+        }
+        final String castling = fields[2];
+        final Board.Builder builder = new Board.Builder();
+        int tile = 0;
+        for (final char c : fields[0].toCharArray()) {
+            if (c == '/') {
+                continue;
+            }
+            if (Character.isDigit(c)) {
+                tile += c - '0';
+                continue;
+            }
+            if (!BoardUtils.isValidTileCoordinate(tile)) {
+                throw new IllegalArgumentException("Too many tiles in FEN: " + fenString);
+            }
+            builder.setPiece(createPiece(c, tile, castling));
+            tile++;
+        }
+        if (tile != BoardUtils.NUM_TILES) {
+            throw new IllegalArgumentException("Wrong number of tiles in FEN: " + fenString);
+        }
+
+        final Alliance moveMaker = fields[1].equals("w") ? Alliance.WHITE : Alliance.BLACK;
+        builder.setMoveMaker(moveMaker);
+        if (!fields[3].equals("-")) {
+            final int enPassantSquare = BoardUtils.ALGEBRAIC_NOTATION.indexOf(fields[3]);
+            if (enPassantSquare < 0) {
+                throw new IllegalArgumentException("Invalid en passant square in FEN: " + fenString);
+            }
+            // the pawn that just jumped stands one rank past the target square, seen from the side to move
+            final Piece pawn = builder.getPiece(enPassantSquare - (8 * moveMaker.getDirection()));
+            if (!(pawn instanceof Pawn) || pawn.getPieceAlliance() == moveMaker) {
+                throw new IllegalArgumentException("No pawn to capture en passant in FEN: " + fenString);
+            }
+            builder.setEnPassantPawn((Pawn) pawn);
+        }
+        return builder.build();
+    }
+
+    public static String createFENFromGame(final Board board) {
+        final StringBuilder builder = new StringBuilder();
+        for (int rank = 0; rank < BoardUtils.NUM_TILE_PER_ROW; rank++) {
+            int empty = 0;
+            for (int file = 0; file < BoardUtils.NUM_TILE_PER_ROW; file++) {
+                final Piece piece = board.getTile(rank * BoardUtils.NUM_TILE_PER_ROW + file).getPiece();
+                if (piece == null) {
+                    empty++;
+                    continue;
+                }
+                if (empty > 0) {
+                    builder.append(empty);
+                    empty = 0;
+                }
+                final String name = piece.getPieceType().toString();
+                builder.append(piece.getPieceAlliance().isWhite() ? name : name.toLowerCase());
+            }
+            if (empty > 0) {
+                builder.append(empty);
+            }
+            if (rank < BoardUtils.NUM_TILE_PER_ROW - 1) {
+                builder.append('/');
+            }
+        }
+        builder.append(board.getMoveMaker().isWhite() ? " w " : " b ");
+        builder.append(castlingText(board.getCastlingRights())).append(' ');
+        final int enPassantSquare = board.getEnPassantSquare();
+        builder.append(enPassantSquare == Position.NO_SQUARE ? "-" : BoardUtils.getPositionAtCoordinate(enPassantSquare));
+        return builder.append(" 0 1").toString();
+    }
+
+    private static Piece createPiece(final char c, final int tile, final String castling) {
+        final Alliance alliance = Character.isUpperCase(c) ? Alliance.WHITE : Alliance.BLACK;
+        final boolean isWhite = alliance.isWhite();
+        switch (Character.toLowerCase(c)) {
+            case 'p':
+                return new Pawn(alliance, tile, isWhite ? BoardUtils.SECOND_RANK[tile] : BoardUtils.SEVENTH_RANK[tile]);
+            case 'n':
+                return new Knight(alliance, tile, false);
+            case 'b':
+                return new Bishop(alliance, tile, false);
+            case 'r':
+                return new Rook(alliance, tile, isUnmovedRook(tile, castling));
+            case 'q':
+                return new Queen(alliance, tile, false);
+            case 'k':
+                return new King(alliance, tile, isWhite ? tile == 60 && (castling.contains("K") || castling.contains("Q"))
+                        : tile == 4 && (castling.contains("k") || castling.contains("q")));
+            default:
+                throw new IllegalArgumentException("Invalid piece in FEN: " + c);
+        }
+    }
+
+    private static boolean isUnmovedRook(final int tile, final String castling) {
+        switch (tile) {
+            case 63:
+                return castling.contains("K");
+            case 56:
+                return castling.contains("Q");
+            case 7:
+                return castling.contains("k");
+            case 0:
+                return castling.contains("q");
+            default:
+                return false;
+        }
+    }
+
+    private static String castlingText(final int castlingRights) {
+        final StringBuilder builder = new StringBuilder();
+        if ((castlingRights & Position.WHITE_KING_SIDE) != 0) {
+            builder.append('K');
+        }
+        if ((castlingRights & Position.WHITE_QUEEN_SIDE) != 0) {
+            builder.append('Q');
+        }
+        if ((castlingRights & Position.BLACK_KING_SIDE) != 0) {
+            builder.append('k');
+        }
+        if ((castlingRights & Position.BLACK_QUEEN_SIDE) != 0) {
+            builder.append('q');
+        }
+        return builder.length() == 0 ? "-" : builder.toString();
+    }
+}
@@ -0,0 +1,133 @@
+package com.chessAI.board;
+
+import static com.chessAI.board.BoardUtils.NUM_TILES;
+
+// Sliding piece attacks by magic bitboard lookup. For every square the relevant
+// blocker squares (the rays minus the board edge) are multiplied by a magic
+// constant, and the top bits of the product index a table of precomputed
+// attack sets. The magics below were searched for this board's a8 = 0 numbering.
+public final class MagicBitboards {
+
+    private static final int[][] ROOK_DIRECTIONS = {{-1, 0}, {1, 0}, {0, -1}, {0, 1}};
+    private static final int[][] BISHOP_DIRECTIONS = {{-1, -1}, {-1, 1}, {1, -1}, {1, 1}};
+
+    private static final long[] ROOK_MAGICS = {
+            0x0A80004000108020L, 0x00C0002000100140L, 0x0100200010090041L, 0x0100042010000900L,
+            0x0200041002002009L, 0x0200010884020050L, 0x0400085004098211L, 0x0100084022008900L,
+            0x081480002080400AL, 0x0180400040201002L, 0x1003001100432000L, 0x0825000900201002L,
+            0x0120800400080080L, 0x0000800200800400L, 0x1804009001080204L, 0x2003000202438100L,
+            0x0C1C208000400081L, 0x0804850021044000L, 0xE0A0818020005001L, 0x5200808010000800L,
+            0x0040828004010800L, 0x200C008080040200L, 0x2084040001821008L, 0x00484A0004008C41L,
+            0x0A60208480084004L, 0x0A06050200402080L, 0x0140200080801000L, 0xA008002101001000L,
+            0x0806080080040080L, 0x0004000202001008L, 0x0004020400080110L, 0x2000204200010084L,
+            0x0180804010800020L, 0x0010004002402000L, 0x80A0801042002200L, 0x1802801002800801L,
+            0x4808000A80800400L, 0x2C22008002800400L, 0x3020384184000210L, 0x8021089902000044L,
+            0x0800800040088020L, 0x002000400082802AL, 0x0052804200160020L, 0x0214210010010008L,
+            0xC1020004100A0020L, 0x0064008002008004L, 0x0020215012040048L, 0x0000008C04420015L,
+            0xD0E0220090410200L, 0x0028209040010500L, 0x0210040020080020L, 0x0000400812002200L,
+            0x0880040008008080L, 0x0042001124680200L, 0x0008085021020400L, 0x00C0108402710600L,
+            0x4100148009002041L, 0xA002001106402082L, 0x4B0820120040800AL, 0x0010848810002101L,
+            0x0002002005481082L, 0xC001002E24002811L, 0x1050010210208804L, 0x00840C01023080C2L
+    };
+
+    private static final long[] BISHOP_MAGICS = {
+            0x0A50101220840C10L, 0x000481080200808CL, 0x0822280100230000L, 0x0302208200300300L,
+            0x0001104000000000L, 0x0809112030020101L, 0x2421014110C00044L, 0x0050110108024004L,
+            0x1800484B4808010AL, 0xC56828104C004840L, 0x0300102102002201L, 0x00400A1A02014004L,
+            0x0028140CA0A00018L, 0x0000042220113040L, 0x00B2604402884000L, 0x219002828488A020L,
+            0x0010002002700102L, 0x0808002068010068L, 0x1490000108420040L, 0x00180121204040A0L,
+            0x0400848C00A00410L, 0x2028108908080400L, 0x0800448C22021010L, 0x0011261104024209L,
+            0x011110002822101CL, 0x1004041410810810L, 0x48A0241112080204L, 0x8022008008008242L,
+            0x0540840002802001L, 0x8088020400404202L, 0x0084048004480448L, 0x000B02008039840AL,
+            0x04010422004008CAL, 0x0008010840040800L, 0x4204110400608800L, 0x0001A00800018820L,
+            0x0040084100041100L, 0x8081010103020050L, 0x4002088104040C00L, 0x0042288104060048L,
+            0x00D8900821010804L, 0x0882841C02202000L, 0x0003012311025002L, 0x040104A018000100L,
+            0x4000A80904001110L, 0x0004010052040100L, 0x0870105743000140L, 0x0190009289800103L,
+            0x08040C4908180880L, 0x0888840101102000L, 0x2098010A413000C0L, 0x0001064042020000L,
+            0x0008101002022800L, 0x40A2044850011208L, 0x08240410462A0442L, 0x0011021204142040L,
+            0x000884040A010488L, 0xA800002084100805L, 0x0004001146009012L, 0x0010002012208825L,
+            0x0000208010820204L, 0x0001084204184080L, 0x6250180901080614L, 0x0090212105020200L
+    };
+
+    private static final long[] ROOK_MASKS = new long[NUM_TILES];
+    private static final long[] BISHOP_MASKS = new long[NUM_TILES];
+    private static final int[] ROOK_SHIFTS = new int[NUM_TILES];
+    private static final int[] BISHOP_SHIFTS = new int[NUM_TILES];
+    private static final long[][] ROOK_ATTACKS = new long[NUM_TILES][];
+    private static final long[][] BISHOP_ATTACKS = new long[NUM_TILES][];
+
+    static {
+        initialize(ROOK_DIRECTIONS, ROOK_MAGICS, ROOK_MASKS, ROOK_SHIFTS, ROOK_ATTACKS);
+        initialize(BISHOP_DIRECTIONS, BISHOP_MAGICS, BISHOP_MASKS, BISHOP_SHIFTS, BISHOP_ATTACKS);
+    }
+
+    private MagicBitboards() {
+        throw new RuntimeException("Not Instantiable");
+    }
+
+    public static long rookAttacks(final int square, final long occupancy) {
+        return ROOK_ATTACKS[square][(int) (((occupancy & ROOK_MASKS[square]) * ROOK_MAGICS[square]) >>> ROOK_SHIFTS[square])];
+    }
+
+    public static long bishopAttacks(final int square, final long occupancy) {
+        return BISHOP_ATTACKS[square][(int) (((occupancy & BISHOP_MASKS[square]) * BISHOP_MAGICS[square]) >>> BISHOP_SHIFTS[square])];
+    }
+
+    public static long queenAttacks(final int square, final long occupancy) {
+        return rookAttacks(square, occupancy) | bishopAttacks(square, occupancy);
+    }
+
+    private static void initialize(final int[][] directions, final long[] magics, final long[] masks,
+                                   final int[] shifts, final long[][] attacks) {
+        for (int square = 0; square < NUM_TILES; square++) {
+            final long mask = relevantOccupancy(square, directions);
+            final int bits = Long.bitCount(mask);
+            masks[square] = mask;
+            shifts[square] = 64 - bits;
+            attacks[square] = new long[1 << bits];
+            // walk every subset of the mask (Carry-Rippler)
+            long subset = 0L;
+            do {
+                final int index = (int) ((subset * magics[square]) >>> shifts[square]);
+                attacks[square][index] = slowAttacks(square, subset, directions);
+                subset = (subset - mask) & mask;
+            } while (subset != 0);
+        }
+    }
+
+    private static long relevantOccupancy(final int square, final int[][] directions) {
+        long mask = 0L;
+        for (final int[] direction : directions) {
+            int row = (square >>> 3) + direction[0];
+            int column = (square & 7) + direction[1];
+            while (isOnBoard(row + direction[0], column + direction[1])) {
+                mask |= BitBoard.squareBit(row * 8 + column);
+                row += direction[0];
+                column += direction[1];
+            }
+        }
+        return mask;
+    }
+
+    private static long slowAttacks(final int square, final long occupancy, final int[][] directions) {
+        long attacks = 0L;
+        for (final int[] direction : directions) {
+            int row = (square >>> 3) + direction[0];
+            int column = (square & 7) + direction[1];
+            while (isOnBoard(row, column)) {
+                final long bit = BitBoard.squareBit(row * 8 + column);
+                attacks |= bit;
+                if ((occupancy & bit) != 0) {
+                    break;
+                }
+                row += direction[0];
+                column += direction[1];
+            }
+        }
+        return attacks;
+    }
+
+    private static boolean isOnBoard(final int row, final int column) {
+        return row >= 0 && row < 8 && column >= 0 && column < 8;
+    }
+}
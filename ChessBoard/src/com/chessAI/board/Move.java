@@ -4,6 +4,8 @@ import com.chessAI.board.Board.Builder;
 import com.chessAI.gui.Table;
 import com.chessAI.piece.Piece;
 import com.chessAI.piece.*;
+import com.chessAI.piece.Piece.PieceType;
+import com.chessAI.player.Player;
 
 import static com.chessAI.board.BoardUtils.*;
 
@@ -68,6 +70,10 @@ public abstract class Move {
             return this.movedPiece;
         }
 
+        public Board getBoard(){
+            return this.board;
+        }
+
         public boolean isAttack(){
             return false;
         }
@@ -81,23 +87,33 @@ public abstract class Move {
         }
 
 
+    // copies the parent's tiles and patches only the ones this move changes
     public Board execute(){
-        final Builder builder = new Builder();
-
-        for(final Piece piece : this.board.currentPlayer().getActivePieces()){
-            if(!this.movedPiece.equals(piece)){
-                builder.setPiece(piece);
-            }
-        }
-        for(final Piece piece : this.board.currentPlayer().getOpponent().getActivePieces()){
-            builder.setPiece((piece));
-        }
-        // MOVE THE MOVED PIECE
+        final Builder builder = new Builder(this.board);
+        builder.clearTile(getCurrentCoordinate());
+        // MOVE THE MOVED PIECE, replacing whatever it captures
         builder.setPiece(this.movedPiece.movePiece(this));
-        builder.setMoveMaker(this.board.currentPlayer().getOpponent().getAlliance());
+        builder.setMoveMaker(Position.opponent(this.board.getMoveMaker()));
+        builder.setZobristHash(calculateZobristHash());
         return builder.build();
     }
 
+    // the key of the board this move leads to, the parent key with only what the move changes XOR-ed in
+    long calculateZobristHash(){
+        final int currentCoordinate = getCurrentCoordinate();
+        final int castlingRights = this.board.getCastlingRights();
+        long hash = this.board.getZobristHash() ^ Zobrist.sideToMoveKey();
+        hash ^= Zobrist.pieceKey(this.movedPiece)
+                ^ Zobrist.pieceKey(this.movedPiece.getPieceAlliance(), this.movedPiece.getPieceType(), this.destinationCoordinate);
+        if (getAttackedPiece() != null){
+            // the attacked piece knows its own tile, which covers en passant
+            hash ^= Zobrist.pieceKey(getAttackedPiece());
+        }
+        hash ^= Zobrist.enPassantKey(this.board.getEnPassantSquare());
+        return hash ^ Zobrist.castlingKey(castlingRights)
+                ^ Zobrist.castlingKey(Position.updateCastlingRights(castlingRights, currentCoordinate, this.destinationCoordinate));
+    }
+
     public static class MajorAttackMove extends AttackMove{
 
             public MajorAttackMove(final Board board, final Piece pieceMoved, final int destinationCoordinate, final Piece pieceAttacked){
@@ -224,20 +240,13 @@ public abstract class Move {
 
         @Override
         public Board execute(){
-            final Builder builder = new Builder();
-            for(final Piece piece : this.board.currentPlayer().getActivePieces()){
-                if(!this.movedPiece.equals(piece)){
-                    builder.setPiece(piece);
-                }
-            }
-
-            for (final Piece piece :this.board.currentPlayer().getOpponent().getActivePieces()){
-                if(!piece.equals(this.getAttackedPiece())){
-                    builder.setPiece(piece);
-                }
-            }
+            final Builder builder = new Builder(this.board);
+            builder.clearTile(getCurrentCoordinate());
+            // the captured pawn is not on the destination tile
+            builder.clearTile(this.attackedPiece.getPiecePosition());
             builder.setPiece(this.movedPiece.movePiece(this));
-            builder.setMoveMaker(this.board.currentPlayer().getOpponent().getAlliance());
+            builder.setMoveMaker(Position.opponent(this.board.getMoveMaker()));
+            builder.setZobristHash(calculateZobristHash());
             return builder.build();
         }
     }
@@ -249,22 +258,22 @@ public abstract class Move {
 
         @Override
         public Board execute(){
-            final Builder builder = new Builder();
-            for(final Piece piece : this.board.currentPlayer().getActivePieces()){
-                if(!this.movedPiece.equals(piece)){
-                    builder.setPiece(piece);
-                }
-            }
-            for (final Piece piece : this.board.currentPlayer().getOpponent().getActivePieces()){
-                builder.setPiece(piece);
-            }
+            final Builder builder = new Builder(this.board);
+            builder.clearTile(getCurrentCoordinate());
             final Pawn movedPawn = (Pawn)this.movedPiece.movePiece(this);
             builder.setPiece(movedPawn);
             builder.setEnPassantPawn(movedPawn);
-            builder.setMoveMaker(this.board.currentPlayer().getOpponent().getAlliance());
+            builder.setMoveMaker(Position.opponent(this.board.getMoveMaker()));
+            builder.setZobristHash(calculateZobristHash());
             return builder.build();
         }
 
+        @Override
+        long calculateZobristHash(){
+            return super.calculateZobristHash()
+                    ^ Zobrist.enPassantKey((getCurrentCoordinate() + this.destinationCoordinate) / 2);
+        }
+
         @Override
         public String toString(){
             return BoardUtils.getPositionAtCoordinate(this.destinationCoordinate);
@@ -272,6 +281,67 @@ public abstract class Move {
 
     }
 
+    public static final class PawnPromotion extends Move {
+
+        final Move decoratedMove;
+        final Piece promotionPiece;
+
+        public PawnPromotion(final Move decoratedMove, final Piece promotionPiece) {
+            super(decoratedMove.getBoard(), decoratedMove.getMovePiece(), decoratedMove.getDestinationCoordinate());
+            this.decoratedMove = decoratedMove;
+            this.promotionPiece = promotionPiece;
+        }
+
+        public Piece getPromotionPiece(){
+            return this.promotionPiece;
+        }
+
+        @Override
+        public boolean isAttack(){
+            return this.decoratedMove.isAttack();
+        }
+
+        @Override
+        public Piece getAttackedPiece(){
+            return this.decoratedMove.getAttackedPiece();
+        }
+
+        @Override
+        public Board execute(){
+            final Builder builder = new Builder(this.board);
+            builder.clearTile(getCurrentCoordinate());
+            builder.setPiece(this.promotionPiece);
+            builder.setMoveMaker(Position.opponent(this.board.getMoveMaker()));
+            builder.setZobristHash(calculateZobristHash());
+            return builder.build();
+        }
+
+        @Override
+        long calculateZobristHash(){
+            // swap the pawn the base key placed on the last rank for the promotion piece
+            return super.calculateZobristHash()
+                    ^ Zobrist.pieceKey(this.movedPiece.getPieceAlliance(), this.movedPiece.getPieceType(), this.destinationCoordinate)
+                    ^ Zobrist.pieceKey(this.promotionPiece);
+        }
+
+        @Override
+        public int hashCode(){
+            return 31 * this.decoratedMove.hashCode() + this.promotionPiece.hashCode();
+        }
+
+        @Override
+        public boolean equals(final Object other){
+            return this == other || other instanceof PawnPromotion && super.equals(other)
+                    && this.promotionPiece.equals(((PawnPromotion) other).getPromotionPiece());
+        }
+
+        @Override
+        public String toString(){
+            return this.decoratedMove.toString() + "=" + this.promotionPiece.getPieceType();
+        }
+
+    }
+
     public static abstract class CastleMove extends Move{
 
             protected final Rook castleRook;
@@ -297,23 +367,22 @@ public abstract class Move {
 
         @Override
         public Board execute(){
-
-            final Builder builder = new Builder();
-
-            for(final Piece piece : this.board.currentPlayer().getActivePieces()){
-                if(!this.movedPiece.equals(piece) && !this.castleRook.equals(piece)){
-                    builder.setPiece(piece);
-                }
-            }
-            for (final Piece piece : this.board.currentPlayer().getOpponent().getActivePieces()){
-                builder.setPiece(piece);
-            }
+            final Builder builder = new Builder(this.board);
+            builder.clearTile(getCurrentCoordinate());
+            builder.clearTile(this.castleRookStartPosition);
             builder.setPiece(this.movedPiece.movePiece(this));
-            builder.setPiece(new Rook(this.castleRook.getPieceAlliance(), this.castleRookDestination));
-            builder.setMoveMaker(this.board.currentPlayer().getOpponent().getAlliance());
+            builder.setPiece(PieceUtils.getRook(this.castleRook.getPieceAlliance(), this.castleRookDestination, false));
+            builder.setMoveMaker(Position.opponent(this.board.getMoveMaker()));
+            builder.setZobristHash(calculateZobristHash());
             return builder.build();
         }
 
+        @Override
+        long calculateZobristHash(){
+            return super.calculateZobristHash() ^ Zobrist.pieceKey(this.castleRook)
+                    ^ Zobrist.pieceKey(this.castleRook.getPieceAlliance(), PieceType.ROOK, this.castleRookDestination);
+        }
+
         @Override
         public int hashCode(){
             final int prime = 31;
@@ -374,12 +443,25 @@ public abstract class Move {
 
     public static final class NullMove extends Move{
         public NullMove(){
-            super(null, -1);
+            this(null);
+        }
+
+        // passes the turn on the given board, for null-move pruning
+        public NullMove(final Board board){
+            super(board, -1);
         }
 
+        // the same pieces with the other side to move, an en passant capture is no longer possible
         @Override
         public Board execute(){
-            throw new RuntimeException("Cannot Execute Null Move");
+            if (this.board == null){
+                throw new RuntimeException("Cannot Execute Null Move");
+            }
+            final Builder builder = new Builder(this.board);
+            builder.setMoveMaker(Position.opponent(this.board.getMoveMaker()));
+            builder.setZobristHash(this.board.getZobristHash() ^ Zobrist.sideToMoveKey()
+                    ^ Zobrist.enPassantKey(this.board.getEnPassantSquare()));
+            return builder.build();
         }
 
         @Override
@@ -394,13 +476,23 @@ public abstract class Move {
             private MoveFactory(){
                 throw new RuntimeException("Not Possible");
             }
+            // only the owner of the piece on the source tile can have the move, so only its index is built
             public static Move createMove(final Board board, final int currentCoordinate, final int destinationCoordinate){
-                for(final Move move : board.getAllLegalMoves()){
-                    if(move.getCurrentCoordinate() == currentCoordinate && move.getDestinationCoordinate() == destinationCoordinate){
-                        return move;
-                    }
+                if(!BoardUtils.isValidTileCoordinate(currentCoordinate)){
+                    return NULL_MOVE;
+                }
+                final Piece piece = board.getTile(currentCoordinate).getPiece();
+                if(piece == null){
+                    return NULL_MOVE;
                 }
-                return NULL_MOVE;
+                final Player owner = piece.getPieceAlliance().isWhite() ? board.whitePlayer() : board.blackPlayer();
+                final Move move = owner.getMoveIndex().getMove(currentCoordinate, destinationCoordinate);
+                return move != null ? move : NULL_MOVE;
+            }
+
+            // NULL_MOVE itself belongs to no board and cannot be executed
+            public static Move createNullMove(final Board board){
+                return new NullMove(board);
             }
     }
 }
@@ -0,0 +1,320 @@
+package com.chessAI.board;
+
+import com.chessAI.Alliance;
+import com.chessAI.piece.Piece.PieceType;
+
+import static com.chessAI.board.BitBoard.clearLowestSquare;
+import static com.chessAI.board.BitBoard.lowestSquare;
+import static com.chessAI.board.BitBoard.squareBit;
+
+// Move generation on a Position into a MoveList. Captures (with all promotions)
+// and quiet moves can be generated separately. The legal variants compute
+// checkers and pinned pieces up front and only emit moves that do not leave the
+// king attacked, so no move has to be tried on the position first.
+public final class MoveGenerator {
+
+    private static final int CAPTURES = 1;
+    private static final int QUIETS = 2;
+
+    private static final long EIGHTH_RANK_MASK = 0xFFL;
+    private static final long SEVENTH_RANK_MASK = 0xFFL << 8;
+    private static final long SECOND_RANK_MASK = 0xFFL << 48;
+    private static final long FIRST_RANK_MASK = 0xFFL << 56;
+
+    private static final PieceType[] PROMOTION_TYPES = {PieceType.QUEEN, PieceType.ROOK, PieceType.BISHOP, PieceType.KNIGHT};
+
+    private MoveGenerator() {
+        throw new RuntimeException("Not Instantiable");
+    }
+
+    public static void generatePseudoLegalMoves(final Position position, final MoveList moves) {
+        generate(position, moves, CAPTURES | QUIETS, false);
+    }
+
+    public static void generateCaptures(final Position position, final MoveList moves) {
+        generate(position, moves, CAPTURES, false);
+    }
+
+    public static void generateQuiets(final Position position, final MoveList moves) {
+        generate(position, moves, QUIETS, false);
+    }
+
+    public static void generateLegalMoves(final Position position, final MoveList moves) {
+        generate(position, moves, CAPTURES | QUIETS, true);
+    }
+
+    public static void generateLegalCaptures(final Position position, final MoveList moves) {
+        generate(position, moves, CAPTURES, true);
+    }
+
+    public static void generateLegalQuiets(final Position position, final MoveList moves) {
+        generate(position, moves, QUIETS, true);
+    }
+
+    public static boolean isCheckMate(final Position position, final MoveList scratch) {
+        scratch.clear();
+        generateLegalMoves(position, scratch);
+        return scratch.isEmpty() && position.isInCheck();
+    }
+
+    public static boolean isStaleMate(final Position position, final MoveList scratch) {
+        scratch.clear();
+        generateLegalMoves(position, scratch);
+        return scratch.isEmpty() && !position.isInCheck();
+    }
+
+    // whether a move from elsewhere, typically the hash table or a killer slot, can be played here,
+    // checked without generating the other moves of the position
+    public static boolean isLegal(final Position position, final int move) {
+        if (move == MoveUtils.NO_MOVE) {
+            return false;
+        }
+        final Alliance us = position.getSideToMove();
+        final int from = MoveUtils.getFrom(move);
+        final int to = MoveUtils.getTo(move);
+        final int piece = position.getPieceAt(from);
+        final PieceType movedType = MoveUtils.getMovedType(move);
+        if (piece == Position.NO_PIECE || Position.allianceOf(piece) != us || Position.typeOf(piece) != movedType) {
+            return false;
+        }
+        if (MoveUtils.isCastle(move)) {
+            final MoveList castles = new MoveList(2);
+            generateCastles(position, castles);
+            return castles.contains(move);
+        }
+        if (MoveUtils.isEnPassant(move)) {
+            return to == position.getEnPassantSquare() && movedType == PieceType.PAWN &&
+                    (BoardUtils.PAWN_ATTACKS[us.ordinal()][from] & squareBit(to)) != 0 && isLegalAfterMaking(position, move);
+        }
+        final int target = position.getPieceAt(to);
+        final PieceType capturedType = MoveUtils.getCapturedType(move);
+        if (capturedType == null ? target != Position.NO_PIECE
+                : target == Position.NO_PIECE || Position.allianceOf(target) == us || Position.typeOf(target) != capturedType) {
+            return false;
+        }
+        final long toBit = squareBit(to);
+        if (movedType == PieceType.PAWN) {
+            final int forward = 8 * us.getDirection();
+            final boolean promotes = ((EIGHTH_RANK_MASK | FIRST_RANK_MASK) & toBit) != 0;
+            final boolean jumps = to == from + 2 * forward;
+            if (promotes != MoveUtils.isPromotion(move) || jumps != MoveUtils.isPawnJump(move)) {
+                return false;
+            }
+            if (capturedType != null) {
+                if ((BoardUtils.PAWN_ATTACKS[us.ordinal()][from] & toBit) == 0) {
+                    return false;
+                }
+            } else if (jumps) {
+                final long startRank = us.isWhite() ? SECOND_RANK_MASK : SEVENTH_RANK_MASK;
+                if ((startRank & squareBit(from)) == 0 || position.getPieceAt(from + forward) != Position.NO_PIECE) {
+                    return false;
+                }
+            } else if (to != from + forward) {
+                return false;
+            }
+        } else if (MoveUtils.isPromotion(move) || MoveUtils.isPawnJump(move) ||
+                (attacksFrom(movedType, from, position.getOccupancy()) & toBit) == 0) {
+            return false;
+        }
+        // the same tests the legal generator applies, trying the move is only needed out of check
+        final Alliance them = Position.opponent(us);
+        if (movedType == PieceType.KING) {
+            return (position.attackersTo(to, position.getOccupancy() ^ squareBit(from)) & position.getOccupancy(them)) == 0;
+        }
+        if (position.isInCheck()) {
+            return isLegalAfterMaking(position, move);
+        }
+        return (calculatePinnedPieces(position, us) & squareBit(from)) == 0
+                || (BoardUtils.LINE_THROUGH[position.getKingSquare(us)][from] & toBit) != 0;
+    }
+
+    public static long calculatePinnedPieces(final Position position, final Alliance alliance) {
+        final int king = position.getKingSquare(alliance);
+        final Alliance them = Position.opponent(alliance);
+        final long theirs = position.getOccupancy(them);
+        final long occupied = position.getOccupancy();
+        final long queens = position.getPieces(them, PieceType.QUEEN);
+        long pinned = 0L;
+        for (long snipers = (MagicBitboards.rookAttacks(king, theirs) & (position.getPieces(them, PieceType.ROOK) | queens))
+                | (MagicBitboards.bishopAttacks(king, theirs) & (position.getPieces(them, PieceType.BISHOP) | queens));
+             snipers != 0; snipers = clearLowestSquare(snipers)) {
+            final long blockers = BoardUtils.SQUARES_BETWEEN[king][lowestSquare(snipers)] & occupied;
+            if (BitBoard.countSquares(blockers) == 1) {
+                pinned |= blockers & position.getOccupancy(alliance);
+            }
+        }
+        return pinned;
+    }
+
+    private static void generate(final Position position, final MoveList moves, final int stages, final boolean legal) {
+        final Alliance us = position.getSideToMove();
+        final Alliance them = Position.opponent(us);
+        final long ours = position.getOccupancy(us);
+        final long theirs = position.getOccupancy(them);
+        final long occupied = ours | theirs;
+        final int king = position.getKingSquare(us);
+
+        long stageTargets = 0L;
+        if ((stages & CAPTURES) != 0) {
+            stageTargets |= theirs;
+        }
+        if ((stages & QUIETS) != 0) {
+            stageTargets |= ~occupied;
+        }
+
+        long checkMask = ~0L;
+        long pinned = 0L;
+        int checkCount = 0;
+        if (legal) {
+            final long checkers = position.attackersTo(king, occupied) & theirs;
+            checkCount = BitBoard.countSquares(checkers);
+            if (checkCount == 1) {
+                checkMask = checkers | BoardUtils.SQUARES_BETWEEN[king][lowestSquare(checkers)];
+            }
+            pinned = calculatePinnedPieces(position, us);
+        }
+
+        // the king can never step onto a square the opponent sees once the king has left its own square
+        final long withoutKing = occupied ^ squareBit(king);
+        for (long targets = BoardUtils.KING_ATTACKS[king] & stageTargets; targets != 0; targets = clearLowestSquare(targets)) {
+            final int to = lowestSquare(targets);
+            if (!legal || (position.attackersTo(to, withoutKing) & theirs) == 0) {
+                moves.add(MoveUtils.encode(king, to, PieceType.KING, typeAt(position, to), null, 0));
+            }
+        }
+        if (checkCount > 1) {
+            return;
+        }
+
+        generatePawnMoves(position, moves, stages, legal, checkMask, pinned, king);
+
+        for (long pieces = ours & ~position.getPieces(us, PieceType.PAWN) & ~squareBit(king); pieces != 0;
+             pieces = clearLowestSquare(pieces)) {
+            final int from = lowestSquare(pieces);
+            final PieceType pieceType = Position.typeOf(position.getPieceAt(from));
+            long targets = attacksFrom(pieceType, from, occupied) & stageTargets & checkMask;
+            if ((pinned & squareBit(from)) != 0) {
+                targets &= BoardUtils.LINE_THROUGH[king][from];
+            }
+            for (; targets != 0; targets = clearLowestSquare(targets)) {
+                final int to = lowestSquare(targets);
+                moves.add(MoveUtils.encode(from, to, pieceType, typeAt(position, to), null, 0));
+            }
+        }
+
+        if ((stages & QUIETS) != 0 && checkCount == 0) {
+            generateCastles(position, moves);
+        }
+    }
+
+    private static void generatePawnMoves(final Position position, final MoveList moves, final int stages,
+                                          final boolean legal, final long checkMask, final long pinned, final int king) {
+        final Alliance us = position.getSideToMove();
+        final long theirs = position.getOccupancy(Position.opponent(us));
+        final long empty = ~position.getOccupancy();
+        final long promotionRank = us.isWhite() ? EIGHTH_RANK_MASK : FIRST_RANK_MASK;
+        final long startRank = us.isWhite() ? SECOND_RANK_MASK : SEVENTH_RANK_MASK;
+        final int forward = 8 * us.getDirection();
+        final int enPassantSquare = position.getEnPassantSquare();
+
+        for (long pawns = position.getPieces(us, PieceType.PAWN); pawns != 0; pawns = clearLowestSquare(pawns)) {
+            final int from = lowestSquare(pawns);
+            final long allowed = (pinned & squareBit(from)) != 0 ? checkMask & BoardUtils.LINE_THROUGH[king][from] : checkMask;
+
+            final int pushTo = from + forward;
+            if ((empty & squareBit(pushTo)) != 0) {
+                if ((squareBit(pushTo) & promotionRank) != 0) {
+                    if ((stages & CAPTURES) != 0 && (allowed & squareBit(pushTo)) != 0) {
+                        addPromotions(moves, from, pushTo, null);
+                    }
+                } else if ((stages & QUIETS) != 0) {
+                    if ((allowed & squareBit(pushTo)) != 0) {
+                        moves.add(MoveUtils.encode(from, pushTo, PieceType.PAWN, null, null, 0));
+                    }
+                    final int jumpTo = pushTo + forward;
+                    if ((startRank & squareBit(from)) != 0 && (empty & allowed & squareBit(jumpTo)) != 0) {
+                        moves.add(MoveUtils.encode(from, jumpTo, PieceType.PAWN, null, null, MoveUtils.PAWN_JUMP_FLAG));
+                    }
+                }
+            }
+
+            if ((stages & CAPTURES) == 0) {
+                continue;
+            }
+            final long attacks = BoardUtils.PAWN_ATTACKS[us.ordinal()][from];
+            for (long targets = attacks & theirs & allowed; targets != 0; targets = clearLowestSquare(targets)) {
+                final int to = lowestSquare(targets);
+                if ((squareBit(to) & promotionRank) != 0) {
+                    addPromotions(moves, from, to, typeAt(position, to));
+                } else {
+                    moves.add(MoveUtils.encode(from, to, PieceType.PAWN, typeAt(position, to), null, 0));
+                }
+            }
+            if (enPassantSquare != Position.NO_SQUARE && (attacks & squareBit(enPassantSquare)) != 0) {
+                final int enPassant = MoveUtils.encode(from, enPassantSquare, PieceType.PAWN, PieceType.PAWN, null,
+                        MoveUtils.EN_PASSANT_FLAG);
+                // two pawns leave the rank at once, which no pin mask describes, so just try it
+                if (!legal || isLegalAfterMaking(position, enPassant)) {
+                    moves.add(enPassant);
+                }
+            }
+        }
+    }
+
+    private static void generateCastles(final Position position, final MoveList moves) {
+        final Alliance us = position.getSideToMove();
+        final int rights = position.getCastlingRights();
+        final int kingSide = us.isWhite() ? Position.WHITE_KING_SIDE : Position.BLACK_KING_SIDE;
+        final int queenSide = us.isWhite() ? Position.WHITE_QUEEN_SIDE : Position.BLACK_QUEEN_SIDE;
+        if ((rights & (kingSide | queenSide)) == 0 || position.isInCheck()) {
+            return;
+        }
+        final Alliance them = Position.opponent(us);
+        final int king = us.isWhite() ? 60 : 4;
+        final long occupied = position.getOccupancy();
+        if ((rights & kingSide) != 0 && (occupied & (squareBit(king + 1) | squareBit(king + 2))) == 0
+                && !position.isSquareAttacked(king + 1, them) && !position.isSquareAttacked(king + 2, them)) {
+            moves.add(MoveUtils.encode(king, king + 2, PieceType.KING, null, null, MoveUtils.CASTLE_FLAG));
+        }
+        if ((rights & queenSide) != 0
+                && (occupied & (squareBit(king - 1) | squareBit(king - 2) | squareBit(king - 3))) == 0
+                && !position.isSquareAttacked(king - 1, them) && !position.isSquareAttacked(king - 2, them)) {
+            moves.add(MoveUtils.encode(king, king - 2, PieceType.KING, null, null, MoveUtils.CASTLE_FLAG));
+        }
+    }
+
+    private static void addPromotions(final MoveList moves, final int from, final int to, final PieceType capturedType) {
+        for (final PieceType promotionType : PROMOTION_TYPES) {
+            moves.add(MoveUtils.encode(from, to, PieceType.PAWN, capturedType, promotionType, 0));
+        }
+    }
+
+    private static boolean isLegalAfterMaking(final Position position, final int move) {
+        position.makeMove(move);
+        final boolean isLegal = !position.isOpponentInCheck();
+        position.unmakeMove();
+        return isLegal;
+    }
+
+    static long attacksFrom(final PieceType pieceType, final int square, final long occupied) {
+        switch (pieceType) {
+            case KNIGHT:
+                return BoardUtils.KNIGHT_ATTACKS[square];
+            case BISHOP:
+                return MagicBitboards.bishopAttacks(square, occupied);
+            case ROOK:
+                return MagicBitboards.rookAttacks(square, occupied);
+            case QUEEN:
+                return MagicBitboards.queenAttacks(square, occupied);
+            case KING:
+                return BoardUtils.KING_ATTACKS[square];
+            default:
+                throw new IllegalArgumentException("Pawn attacks depend on alliance");
+        }
+    }
+
+    private static PieceType typeAt(final Position position, final int square) {
+        final int code = position.getPieceAt(square);
+        return code == Position.NO_PIECE ? null : Position.typeOf(code);
+    }
+}
@@ -0,0 +1,85 @@
+package com.chessAI.board;
+
+import com.chessAI.board.Move.PawnPromotion;
+import com.chessAI.piece.Piece.PieceType;
+
+import java.util.Collection;
+
+// A player's legal moves grouped by source tile, with a bitboard of the
+// destinations reachable from each tile. Finding a move by coordinates or testing
+// membership rejects most lookups on one bit test and otherwise only looks at the
+// handful of moves leaving one tile.
+public final class MoveIndex {
+
+    private static final Move[] NO_MOVES = new Move[0];
+
+    private final Move[][] movesBySource;
+    private final long[] destinations;
+
+    public MoveIndex(final Collection<Move> moves) {
+        this.movesBySource = new Move[BoardUtils.NUM_TILES][];
+        this.destinations = new long[BoardUtils.NUM_TILES];
+        final int[] counts = new int[BoardUtils.NUM_TILES];
+        for (final Move move : moves) {
+            counts[move.getCurrentCoordinate()]++;
+        }
+        for (int tile = 0; tile < BoardUtils.NUM_TILES; tile++) {
+            this.movesBySource[tile] = counts[tile] == 0 ? NO_MOVES : new Move[counts[tile]];
+            counts[tile] = 0;
+        }
+        // keeps the generation order within a tile, so a promotion resolves to the queen first
+        for (final Move move : moves) {
+            final int source = move.getCurrentCoordinate();
+            this.movesBySource[source][counts[source]++] = move;
+            this.destinations[source] |= BitBoard.squareBit(move.getDestinationCoordinate());
+        }
+    }
+
+    // the first move from the source to the destination tile, null if there is none
+    public Move getMove(final int currentCoordinate, final int destinationCoordinate) {
+        if (!hasMove(currentCoordinate, destinationCoordinate)) {
+            return null;
+        }
+        for (final Move move : this.movesBySource[currentCoordinate]) {
+            if (move.getDestinationCoordinate() == destinationCoordinate) {
+                return move;
+            }
+        }
+        return null;
+    }
+
+    // as getMove, but a pawn reaching the last rank has to promote to the given type
+    public Move getMove(final int currentCoordinate, final int destinationCoordinate, final PieceType promotionType) {
+        if (!hasMove(currentCoordinate, destinationCoordinate)) {
+            return null;
+        }
+        for (final Move move : this.movesBySource[currentCoordinate]) {
+            if (move.getDestinationCoordinate() == destinationCoordinate && (!(move instanceof PawnPromotion) ||
+                    ((PawnPromotion) move).getPromotionPiece().getPieceType() == promotionType)) {
+                return move;
+            }
+        }
+        return null;
+    }
+
+    public boolean contains(final Move move) {
+        if (!hasMove(move.getCurrentCoordinate(), move.getDestinationCoordinate())) {
+            return false;
+        }
+        for (final Move candidate : this.movesBySource[move.getCurrentCoordinate()]) {
+            if (candidate.getDestinationCoordinate() == move.getDestinationCoordinate() && candidate.equals(move)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public long getDestinations(final int currentCoordinate) {
+        return this.destinations[currentCoordinate];
+    }
+
+    private boolean hasMove(final int currentCoordinate, final int destinationCoordinate) {
+        return BoardUtils.isValidTileCoordinate(currentCoordinate) && BoardUtils.isValidTileCoordinate(destinationCoordinate)
+                && (this.destinations[currentCoordinate] & BitBoard.squareBit(destinationCoordinate)) != 0;
+    }
+}
@@ -0,0 +1,123 @@
+package com.chessAI.board;
+
+import com.chessAI.board.Move.CastleMove;
+import com.chessAI.board.Move.PawnEnPassantAttack;
+import com.chessAI.board.Move.PawnJump;
+import com.chessAI.board.Move.PawnPromotion;
+import com.chessAI.piece.Piece;
+import com.chessAI.piece.Piece.PieceType;
+
+// Moves packed into a single int so the search and perft paths can generate
+// them without allocating:
+//
+//   bits  0-5   source tile
+//   bits  6-11  destination tile
+//   bits 12-14  moved piece type
+//   bits 15-17  captured piece type + 1 (0 = no capture)
+//   bits 18-20  promotion piece type + 1 (0 = no promotion)
+//   bit  21     pawn jump
+//   bit  22     en passant
+//   bit  23     castle
+public final class MoveUtils {
+
+    public static final int NO_MOVE = 0;
+
+    public static final int PAWN_JUMP_FLAG = 1 << 21;
+    public static final int EN_PASSANT_FLAG = 1 << 22;
+    public static final int CASTLE_FLAG = 1 << 23;
+
+    public static final int MOVE_BITS = 24;
+
+    private static final int CAPTURE_MASK = 7 << 15;
+    private static final int PROMOTION_MASK = 7 << 18;
+    private static final PieceType[] PIECE_TYPES = PieceType.values();
+
+    private MoveUtils() {
+        throw new RuntimeException("Not Instantiable");
+    }
+
+    public static int encode(final int from, final int to, final PieceType movedType, final PieceType capturedType,
+                             final PieceType promotionType, final int flags) {
+        return from | (to << 6) | (movedType.ordinal() << 12)
+                | (capturedType == null ? 0 : (capturedType.ordinal() + 1) << 15)
+                | (promotionType == null ? 0 : (promotionType.ordinal() + 1) << 18)
+                | flags;
+    }
+
+    public static int getFrom(final int move) {
+        return move & 63;
+    }
+
+    public static int getTo(final int move) {
+        return (move >>> 6) & 63;
+    }
+
+    public static PieceType getMovedType(final int move) {
+        return PIECE_TYPES[(move >>> 12) & 7];
+    }
+
+    public static boolean isCapture(final int move) {
+        return (move & CAPTURE_MASK) != 0;
+    }
+
+    public static PieceType getCapturedType(final int move) {
+        final int captured = (move >>> 15) & 7;
+        return captured == 0 ? null : PIECE_TYPES[captured - 1];
+    }
+
+    public static boolean isPromotion(final int move) {
+        return (move & PROMOTION_MASK) != 0;
+    }
+
+    public static PieceType getPromotionType(final int move) {
+        final int promotion = (move >>> 18) & 7;
+        return promotion == 0 ? null : PIECE_TYPES[promotion - 1];
+    }
+
+    public static boolean isPawnJump(final int move) {
+        return (move & PAWN_JUMP_FLAG) != 0;
+    }
+
+    public static boolean isEnPassant(final int move) {
+        return (move & EN_PASSANT_FLAG) != 0;
+    }
+
+    public static boolean isCastle(final int move) {
+        return (move & CASTLE_FLAG) != 0;
+    }
+
+    public static boolean isQuiet(final int move) {
+        return (move & (CAPTURE_MASK | PROMOTION_MASK)) == 0;
+    }
+
+    public static int fromMove(final Move move) {
+        final Piece attackedPiece = move.getAttackedPiece();
+        int flags = 0;
+        if (move instanceof PawnJump) {
+            flags |= PAWN_JUMP_FLAG;
+        } else if (move instanceof PawnEnPassantAttack) {
+            flags |= EN_PASSANT_FLAG;
+        } else if (move instanceof CastleMove) {
+            flags |= CASTLE_FLAG;
+        }
+        final PieceType promotionType = move instanceof PawnPromotion ?
+                ((PawnPromotion) move).getPromotionPiece().getPieceType() : null;
+        return encode(move.getCurrentCoordinate(), move.getDestinationCoordinate(),
+                move.getMovePiece().getPieceType(), attackedPiece == null ? null : attackedPiece.getPieceType(),
+                promotionType, flags);
+    }
+
+    public static Move toMove(final Board board, final int move) {
+        final Move candidate = board.currentPlayer().getMoveIndex().getMove(getFrom(move), getTo(move),
+                getPromotionType(move));
+        return candidate != null ? candidate : Move.NULL_MOVE;
+    }
+
+    public static String toString(final int move) {
+        if (move == NO_MOVE) {
+            return "0000";
+        }
+        final String text = BoardUtils.getPositionAtCoordinate(getFrom(move)) + BoardUtils.getPositionAtCoordinate(getTo(move));
+        return isPromotion(move) ? text + getPromotionType(move).toString().toLowerCase() : text;
+    }
+}
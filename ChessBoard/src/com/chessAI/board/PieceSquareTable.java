@@ -0,0 +1,145 @@
+package com.chessAI.board;
+
+import com.chessAI.Alliance;
+import com.chessAI.piece.Piece.PieceType;
+
+import static com.chessAI.board.BitBoard.NUM_PIECE_TYPES;
+import static com.chessAI.board.BoardUtils.NUM_TILES;
+
+// Material plus piece-square values for the middlegame and the endgame, by piece code
+// (BitBoard.index) and square, white positive and black negative. Board and Position
+// add a piece's values when it is put on a square and subtract them when it leaves,
+// so their sums are always up to date and the evaluation only blends the two by the
+// game phase. Tables are drawn from white's side, a8 first; black reads them mirrored.
+public final class PieceSquareTable {
+
+    // knights and bishops count 1, rooks 2 and queens 4, the full set of them 24
+    public static final int MAX_PHASE = 24;
+
+    private static final int[] MIDGAME_VALUES = {100, 320, 330, 500, 900, 0};
+    private static final int[] ENDGAME_VALUES = {120, 290, 320, 520, 920, 0};
+    private static final int[] PHASE_WEIGHTS = {0, 1, 1, 2, 4, 0};
+
+    private static final int[] PAWN_MIDGAME = {
+             0,   0,   0,   0,   0,   0,   0,   0,
+            50,  50,  50,  50,  50,  50,  50,  50,
+            10,  10,  20,  30,  30,  20,  10,  10,
+             5,   5,  10,  25,  25,  10,   5,   5,
+             0,   0,   0,  20,  20,   0,   0,   0,
+             5,  -5, -10,   0,   0, -10,  -5,   5,
+             5,  10,  10, -20, -20,  10,  10,   5,
+             0,   0,   0,   0,   0,   0,   0,   0
+    };
+
+    private static final int[] PAWN_ENDGAME = {
+             0,   0,   0,   0,   0,   0,   0,   0,
+            80,  80,  80,  80,  80,  80,  80,  80,
+            50,  50,  50,  50,  50,  50,  50,  50,
+            30,  30,  30,  30,  30,  30,  30,  30,
+            20,  20,  20,  20,  20,  20,  20,  20,
+            10,  10,  10,  10,  10,  10,  10,  10,
+             0,   0,   0,   0,   0,   0,   0,   0,
+             0,   0,   0,   0,   0,   0,   0,   0
+    };
+
+    private static final int[] KNIGHT = {
+           -50, -40, -30, -30, -30, -30, -40, -50,
+           -40, -20,   0,   0,   0,   0, -20, -40,
+           -30,   0,  10,  15,  15,  10,   0, -30,
+           -30,   5,  15,  20,  20,  15,   5, -30,
+           -30,   0,  15,  20,  20,  15,   0, -30,
+           -30,   5,  10,  15,  15,  10,   5, -30,
+           -40, -20,   0,   5,   5,   0, -20, -40,
+           -50, -40, -30, -30, -30, -30, -40, -50
+    };
+
+    private static final int[] BISHOP = {
+           -20, -10, -10, -10, -10, -10, -10, -20,
+           -10,   0,   0,   0,   0,   0,   0, -10,
+           -10,   0,   5,  10,  10,   5,   0, -10,
+           -10,   5,   5,  10,  10,   5,   5, -10,
+           -10,   0,  10,  10,  10,  10,   0, -10,
+           -10,  10,  10,  10,  10,  10,  10, -10,
+           -10,   5,   0,   0,   0,   0,   5, -10,
+           -20, -10, -10, -10, -10, -10, -10, -20
+    };
+
+    private static final int[] ROOK = {
+             0,   0,   0,   0,   0,   0,   0,   0,
+             5,  10,  10,  10,  10,  10,  10,   5,
+            -5,   0,   0,   0,   0,   0,   0,  -5,
+            -5,   0,   0,   0,   0,   0,   0,  -5,
+            -5,   0,   0,   0,   0,   0,   0,  -5,
+            -5,   0,   0,   0,   0,   0,   0,  -5,
+            -5,   0,   0,   0,   0,   0,   0,  -5,
+             0,   0,   0,   5,   5,   0,   0,   0
+    };
+
+    private static final int[] QUEEN = {
+           -20, -10, -10,  -5,  -5, -10, -10, -20,
+           -10,   0,   0,   0,   0,   0,   0, -10,
+           -10,   0,   5,   5,   5,   5,   0, -10,
+            -5,   0,   5,   5,   5,   5,   0,  -5,
+             0,   0,   5,   5,   5,   5,   0,  -5,
+           -10,   5,   5,   5,   5,   5,   0, -10,
+           -10,   0,   5,   0,   0,   0,   0, -10,
+           -20, -10, -10,  -5,  -5, -10, -10, -20
+    };
+
+    // behind its pawns while the queens are on, in the centre once they are off
+    private static final int[] KING_MIDGAME = {
+           -30, -40, -40, -50, -50, -40, -40, -30,
+           -30, -40, -40, -50, -50, -40, -40, -30,
+           -30, -40, -40, -50, -50, -40, -40, -30,
+           -30, -40, -40, -50, -50, -40, -40, -30,
+           -20, -30, -30, -40, -40, -30, -30, -20,
+           -10, -20, -20, -20, -20, -20, -20, -10,
+            20,  20,   0,   0,   0,   0,  20,  20,
+            20,  30,  10,   0,   0,  10,  30,  20
+    };
+
+    private static final int[] KING_ENDGAME = {
+           -50, -40, -30, -20, -20, -30, -40, -50,
+           -30, -20, -10,   0,   0, -10, -20, -30,
+           -30, -10,  20,  30,  30,  20, -10, -30,
+           -30, -10,  30,  40,  40,  30, -10, -30,
+           -30, -10,  30,  40,  40,  30, -10, -30,
+           -30, -10,  20,  30,  30,  20, -10, -30,
+           -30, -30,   0,   0,   0,   0, -30, -30,
+           -50, -30, -30, -30, -30, -30, -30, -50
+    };
+
+    private static final int[][] MIDGAME = initTables(MIDGAME_VALUES,
+            new int[][]{PAWN_MIDGAME, KNIGHT, BISHOP, ROOK, QUEEN, KING_MIDGAME});
+    private static final int[][] ENDGAME = initTables(ENDGAME_VALUES,
+            new int[][]{PAWN_ENDGAME, KNIGHT, BISHOP, ROOK, QUEEN, KING_ENDGAME});
+
+    private PieceSquareTable() {
+        throw new RuntimeException("Not Instantiable");
+    }
+
+    public static int midgame(final int pieceCode, final int square) {
+        return MIDGAME[pieceCode][square];
+    }
+
+    public static int endgame(final int pieceCode, final int square) {
+        return ENDGAME[pieceCode][square];
+    }
+
+    public static int phase(final int pieceCode) {
+        return PHASE_WEIGHTS[pieceCode % NUM_PIECE_TYPES];
+    }
+
+    private static int[][] initTables(final int[] values, final int[][] squareTables) {
+        final int[][] tables = new int[2 * NUM_PIECE_TYPES][NUM_TILES];
+        for (final PieceType pieceType : PieceType.values()) {
+            final int type = pieceType.ordinal();
+            for (int square = 0; square < NUM_TILES; square++) {
+                tables[BitBoard.index(Alliance.WHITE, pieceType)][square] = values[type] + squareTables[type][square];
+                // the same square seen from black's side is on the mirrored rank
+                tables[BitBoard.index(Alliance.BLACK, pieceType)][square] = -(values[type] + squareTables[type][square ^ 56]);
+            }
+        }
+        return tables;
+    }
+}
@@ -0,0 +1,421 @@
+package com.chessAI.board;
+
+import com.chessAI.Alliance;
+import com.chessAI.piece.*;
+import com.chessAI.piece.Piece.PieceType;
+import com.google.common.collect.Iterables;
+
+import java.util.Arrays;
+
+import static com.chessAI.board.BitBoard.NUM_PIECE_TYPES;
+import static com.chessAI.board.BoardUtils.NUM_TILES;
+
+// Mutable bitboard position for search and perft. makeMove changes the position
+// in place and pushes a small undo record, unmakeMove pops it and restores the
+// previous state. Board stays the immutable representation used by the GUI.
+public final class Position {
+
+    public static final int NO_PIECE = -1;
+    public static final int NO_SQUARE = -1;
+
+    public static final int WHITE_KING_SIDE = 1;
+    public static final int WHITE_QUEEN_SIDE = 2;
+    public static final int BLACK_KING_SIDE = 4;
+    public static final int BLACK_QUEEN_SIDE = 8;
+
+    private static final int[] CASTLING_MASK = initCastlingMask();
+    private static final PieceType[] PIECE_TYPES = PieceType.values();
+    private static final int INITIAL_HISTORY = 256;
+
+    private final long[] pieceBoards = new long[2 * NUM_PIECE_TYPES];
+    private final long[] occupancy = new long[2];
+    private final int[] mailbox = new int[NUM_TILES];
+
+    private Alliance sideToMove;
+    private int castlingRights;
+    private int enPassantSquare;
+    private long zobristHash;
+    // material and piece-square sums, kept up to date by putPiece and removePiece
+    private int midgameScore;
+    private int endgameScore;
+    private int gamePhase;
+
+    private int historySize;
+    private int[] moveHistory = new int[INITIAL_HISTORY];
+    private int[] stateHistory = new int[INITIAL_HISTORY];
+    private long[] keyHistory = new long[INITIAL_HISTORY];
+
+    public Position(final Board board) {
+        Arrays.fill(this.mailbox, NO_PIECE);
+        for (final Piece piece : Iterables.concat(board.getWhitePieces(), board.getBlackPieces())) {
+            putPiece(pieceCode(piece.getPieceAlliance(), piece.getPieceType()), piece.getPiecePosition());
+        }
+        this.sideToMove = board.currentPlayer().getAlliance();
+        this.castlingRights = calculateCastlingRights(board);
+        final Pawn enPassantPawn = board.getEnPassantPawn();
+        this.enPassantSquare = enPassantPawn == null ? NO_SQUARE :
+                enPassantPawn.getPiecePosition() - (8 * enPassantPawn.getPieceAlliance().getDirection());
+        this.zobristHash ^= Zobrist.castlingKey(this.castlingRights) ^ Zobrist.enPassantKey(this.enPassantSquare)
+                ^ Zobrist.sideToMoveKey(this.sideToMove);
+    }
+
+    // an independent copy, including the move history, for handing to another thread
+    public Position(final Position other) {
+        System.arraycopy(other.pieceBoards, 0, this.pieceBoards, 0, this.pieceBoards.length);
+        System.arraycopy(other.occupancy, 0, this.occupancy, 0, this.occupancy.length);
+        System.arraycopy(other.mailbox, 0, this.mailbox, 0, this.mailbox.length);
+        this.sideToMove = other.sideToMove;
+        this.castlingRights = other.castlingRights;
+        this.enPassantSquare = other.enPassantSquare;
+        this.zobristHash = other.zobristHash;
+        this.midgameScore = other.midgameScore;
+        this.endgameScore = other.endgameScore;
+        this.gamePhase = other.gamePhase;
+        this.historySize = other.historySize;
+        this.moveHistory = other.moveHistory.clone();
+        this.stateHistory = other.stateHistory.clone();
+        this.keyHistory = other.keyHistory.clone();
+    }
+
+    public static int pieceCode(final Alliance alliance, final PieceType pieceType) {
+        return alliance.ordinal() * NUM_PIECE_TYPES + pieceType.ordinal();
+    }
+
+    public static Alliance allianceOf(final int pieceCode) {
+        return pieceCode < NUM_PIECE_TYPES ? Alliance.WHITE : Alliance.BLACK;
+    }
+
+    public static PieceType typeOf(final int pieceCode) {
+        return PIECE_TYPES[pieceCode % NUM_PIECE_TYPES];
+    }
+
+    public Alliance getSideToMove() {
+        return this.sideToMove;
+    }
+
+    public int getCastlingRights() {
+        return this.castlingRights;
+    }
+
+    public int getEnPassantSquare() {
+        return this.enPassantSquare;
+    }
+
+    public int getPieceAt(final int square) {
+        return this.mailbox[square];
+    }
+
+    public long getPieces(final Alliance alliance, final PieceType pieceType) {
+        return this.pieceBoards[pieceCode(alliance, pieceType)];
+    }
+
+    public long getPieces(final PieceType pieceType) {
+        return this.pieceBoards[pieceType.ordinal()] | this.pieceBoards[NUM_PIECE_TYPES + pieceType.ordinal()];
+    }
+
+    public long getOccupancy(final Alliance alliance) {
+        return this.occupancy[alliance.ordinal()];
+    }
+
+    public long getOccupancy() {
+        return this.occupancy[0] | this.occupancy[1];
+    }
+
+    public long getZobristHash() {
+        return this.zobristHash;
+    }
+
+    public int getPly() {
+        return this.historySize;
+    }
+
+    // the move that led here, MoveUtils.NO_MOVE at the position this one was created from
+    public int getLastMove() {
+        return this.historySize == 0 ? MoveUtils.NO_MOVE : this.moveHistory[this.historySize - 1];
+    }
+
+    // white's middlegame material and piece-square score minus black's
+    public int getMidgameScore() {
+        return this.midgameScore;
+    }
+
+    public int getEndgameScore() {
+        return this.endgameScore;
+    }
+
+    // from 0 with only kings and pawns left up to PieceSquareTable.MAX_PHASE, or beyond after promotions
+    public int getGamePhase() {
+        return this.gamePhase;
+    }
+
+    public int getKingSquare(final Alliance alliance) {
+        return BitBoard.lowestSquare(this.pieceBoards[pieceCode(alliance, PieceType.KING)]);
+    }
+
+    public boolean isSquareAttacked(final int square, final Alliance attacker) {
+        final long occupied = getOccupancy();
+        final long queens = getPieces(attacker, PieceType.QUEEN);
+        return (BoardUtils.PAWN_ATTACKS[opponent(attacker).ordinal()][square] & getPieces(attacker, PieceType.PAWN)) != 0
+                || (BoardUtils.KNIGHT_ATTACKS[square] & getPieces(attacker, PieceType.KNIGHT)) != 0
+                || (BoardUtils.KING_ATTACKS[square] & getPieces(attacker, PieceType.KING)) != 0
+                || (MagicBitboards.bishopAttacks(square, occupied) & (getPieces(attacker, PieceType.BISHOP) | queens)) != 0
+                || (MagicBitboards.rookAttacks(square, occupied) & (getPieces(attacker, PieceType.ROOK) | queens)) != 0;
+    }
+
+    // attackers of both alliances, with sliders seen through the given occupancy
+    public long attackersTo(final int square, final long occupied) {
+        final long queens = getPieces(PieceType.QUEEN);
+        return (BoardUtils.PAWN_ATTACKS[Alliance.BLACK.ordinal()][square] & getPieces(Alliance.WHITE, PieceType.PAWN))
+                | (BoardUtils.PAWN_ATTACKS[Alliance.WHITE.ordinal()][square] & getPieces(Alliance.BLACK, PieceType.PAWN))
+                | (BoardUtils.KNIGHT_ATTACKS[square] & getPieces(PieceType.KNIGHT))
+                | (BoardUtils.KING_ATTACKS[square] & getPieces(PieceType.KING))
+                | (MagicBitboards.bishopAttacks(square, occupied) & (getPieces(PieceType.BISHOP) | queens))
+                | (MagicBitboards.rookAttacks(square, occupied) & (getPieces(PieceType.ROOK) | queens));
+    }
+
+    public boolean isInCheck() {
+        return isSquareAttacked(getKingSquare(this.sideToMove), opponent(this.sideToMove));
+    }
+
+    // true when the side that just moved left its own king attacked
+    public boolean isOpponentInCheck() {
+        final Alliance justMoved = opponent(this.sideToMove);
+        return isSquareAttacked(getKingSquare(justMoved), this.sideToMove);
+    }
+
+    // true when the position already occurred with the same side to move since the last
+    // capture, pawn move or null move, nothing before those can repeat
+    public boolean isRepetition() {
+        for (int i = this.historySize - 1; i >= 0; i--) {
+            final int move = this.moveHistory[i];
+            if (move == MoveUtils.NO_MOVE || MoveUtils.isCapture(move) || MoveUtils.getMovedType(move) == PieceType.PAWN) {
+                return false;
+            }
+            if (((this.historySize - i) & 1) == 0 && this.keyHistory[i] == this.zobristHash) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public void makeMove(final Move move) {
+        makeMove(MoveUtils.fromMove(move));
+    }
+
+    public void makeMove(final int move) {
+        final int from = MoveUtils.getFrom(move);
+        final int to = MoveUtils.getTo(move);
+        final int movedPiece = this.mailbox[from];
+
+        pushHistory(move, this.castlingRights | ((this.enPassantSquare + 1) << 4));
+
+        if (MoveUtils.isCapture(move)) {
+            final int capturedSquare = MoveUtils.isEnPassant(move) ? to - (8 * this.sideToMove.getDirection()) : to;
+            removePiece(this.mailbox[capturedSquare], capturedSquare);
+        }
+        removePiece(movedPiece, from);
+        putPiece(MoveUtils.isPromotion(move) ?
+                pieceCode(this.sideToMove, MoveUtils.getPromotionType(move)) : movedPiece, to);
+
+        if (MoveUtils.isCastle(move)) {
+            moveCastleRook(from, to, false);
+        }
+
+        this.zobristHash ^= Zobrist.enPassantKey(this.enPassantSquare) ^ Zobrist.castlingKey(this.castlingRights)
+                ^ Zobrist.sideToMoveKey();
+        this.enPassantSquare = MoveUtils.isPawnJump(move) ? (from + to) / 2 : NO_SQUARE;
+        this.castlingRights = updateCastlingRights(this.castlingRights, from, to);
+        this.sideToMove = opponent(this.sideToMove);
+        this.zobristHash ^= Zobrist.enPassantKey(this.enPassantSquare) ^ Zobrist.castlingKey(this.castlingRights);
+    }
+
+    public void unmakeMove() {
+        this.historySize--;
+        final int move = this.moveHistory[this.historySize];
+        final int state = this.stateHistory[this.historySize];
+        final int from = MoveUtils.getFrom(move);
+        final int to = MoveUtils.getTo(move);
+
+        this.sideToMove = opponent(this.sideToMove);
+        this.castlingRights = state & 15;
+        this.enPassantSquare = (state >>> 4) - 1;
+
+        final int pieceOnDestination = this.mailbox[to];
+        removePiece(pieceOnDestination, to);
+        putPiece(MoveUtils.isPromotion(move) ? pieceCode(this.sideToMove, PieceType.PAWN) : pieceOnDestination, from);
+
+        if (MoveUtils.isCastle(move)) {
+            moveCastleRook(from, to, true);
+        }
+
+        if (MoveUtils.isCapture(move)) {
+            final int capturedSquare = MoveUtils.isEnPassant(move) ? to - (8 * this.sideToMove.getDirection()) : to;
+            putPiece(pieceCode(opponent(this.sideToMove), MoveUtils.getCapturedType(move)), capturedSquare);
+        }
+        this.zobristHash = this.keyHistory[this.historySize];
+    }
+
+    // passes the turn for null-move pruning, recorded in the history as MoveUtils.NO_MOVE
+    public void makeNullMove() {
+        pushHistory(MoveUtils.NO_MOVE, this.castlingRights | ((this.enPassantSquare + 1) << 4));
+        this.zobristHash ^= Zobrist.enPassantKey(this.enPassantSquare) ^ Zobrist.sideToMoveKey();
+        this.enPassantSquare = NO_SQUARE;
+        this.sideToMove = opponent(this.sideToMove);
+    }
+
+    public void unmakeNullMove() {
+        this.historySize--;
+        this.sideToMove = opponent(this.sideToMove);
+        this.enPassantSquare = (this.stateHistory[this.historySize] >>> 4) - 1;
+        this.zobristHash = this.keyHistory[this.historySize];
+    }
+
+    public Board toBoard() {
+        final Board.Builder builder = new Board.Builder();
+        for (int square = 0; square < NUM_TILES; square++) {
+            final int code = this.mailbox[square];
+            if (code != NO_PIECE) {
+                builder.setPiece(createPiece(code, square));
+            }
+        }
+        if (this.enPassantSquare != NO_SQUARE) {
+            final int pawnSquare = this.enPassantSquare - (8 * this.sideToMove.getDirection());
+            builder.setEnPassantPawn((Pawn) createPiece(this.mailbox[pawnSquare], pawnSquare));
+        }
+        builder.setMoveMaker(this.sideToMove);
+        return builder.build();
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder builder = new StringBuilder();
+        for (int square = 0; square < NUM_TILES; square++) {
+            final int code = this.mailbox[square];
+            final String tileText = code == NO_PIECE ? "-" : allianceOf(code).isBlack() ?
+                    typeOf(code).toString().toLowerCase() : typeOf(code).toString();
+            builder.append(String.format("%3s", tileText));
+            if ((square + 1) % 8 == 0) {
+                builder.append("\n");
+            }
+        }
+        return builder.toString();
+    }
+
+    private void moveCastleRook(final int kingFrom, final int kingTo, final boolean undo) {
+        final int rookFrom = kingTo > kingFrom ? kingFrom + 3 : kingFrom - 4;
+        final int rookTo = kingTo > kingFrom ? kingFrom + 1 : kingFrom - 1;
+        final int rook = pieceCode(this.sideToMove, PieceType.ROOK);
+        if (undo) {
+            removePiece(rook, rookTo);
+            putPiece(rook, rookFrom);
+        } else {
+            removePiece(rook, rookFrom);
+            putPiece(rook, rookTo);
+        }
+    }
+
+    private void putPiece(final int code, final int square) {
+        final long bit = BitBoard.squareBit(square);
+        this.pieceBoards[code] |= bit;
+        this.occupancy[code / NUM_PIECE_TYPES] |= bit;
+        this.mailbox[square] = code;
+        this.zobristHash ^= Zobrist.pieceKey(code, square);
+        this.midgameScore += PieceSquareTable.midgame(code, square);
+        this.endgameScore += PieceSquareTable.endgame(code, square);
+        this.gamePhase += PieceSquareTable.phase(code);
+    }
+
+    private void removePiece(final int code, final int square) {
+        final long bit = BitBoard.squareBit(square);
+        this.pieceBoards[code] &= ~bit;
+        this.occupancy[code / NUM_PIECE_TYPES] &= ~bit;
+        this.mailbox[square] = NO_PIECE;
+        this.zobristHash ^= Zobrist.pieceKey(code, square);
+        this.midgameScore -= PieceSquareTable.midgame(code, square);
+        this.endgameScore -= PieceSquareTable.endgame(code, square);
+        this.gamePhase -= PieceSquareTable.phase(code);
+    }
+
+    private void pushHistory(final int move, final int state) {
+        if (this.historySize == this.moveHistory.length) {
+            this.moveHistory = Arrays.copyOf(this.moveHistory, this.historySize * 2);
+            this.stateHistory = Arrays.copyOf(this.stateHistory, this.historySize * 2);
+            this.keyHistory = Arrays.copyOf(this.keyHistory, this.historySize * 2);
+        }
+        this.moveHistory[this.historySize] = move;
+        this.stateHistory[this.historySize] = state;
+        this.keyHistory[this.historySize] = this.zobristHash;
+        this.historySize++;
+    }
+
+    private Piece createPiece(final int code, final int square) {
+        final Alliance alliance = allianceOf(code);
+        final boolean isWhite = alliance.isWhite();
+        switch (typeOf(code)) {
+            case PAWN:
+                return PieceUtils.getPawn(alliance, square, isWhite ? BoardUtils.SECOND_RANK[square] : BoardUtils.SEVENTH_RANK[square]);
+            case KNIGHT:
+                return PieceUtils.getKnight(alliance, square, false);
+            case BISHOP:
+                return PieceUtils.getBishop(alliance, square, false);
+            case ROOK:
+                return PieceUtils.getRook(alliance, square, (~CASTLING_MASK[square] & this.castlingRights & castlingRightsOf(alliance)) != 0);
+            case QUEEN:
+                return PieceUtils.getQueen(alliance, square, false);
+            default:
+                return PieceUtils.getKing(alliance, square, (this.castlingRights & castlingRightsOf(alliance)) != 0);
+        }
+    }
+
+    private static int castlingRightsOf(final Alliance alliance) {
+        return alliance.isWhite() ? WHITE_KING_SIDE | WHITE_QUEEN_SIDE : BLACK_KING_SIDE | BLACK_QUEEN_SIDE;
+    }
+
+    static int updateCastlingRights(final int castlingRights, final int from, final int to) {
+        return castlingRights & CASTLING_MASK[from] & CASTLING_MASK[to];
+    }
+
+    static int calculateCastlingRights(final Board board) {
+        int rights = 0;
+        if (hasUnmovedPiece(board, 60, Alliance.WHITE, PieceType.KING)) {
+            if (hasUnmovedPiece(board, 63, Alliance.WHITE, PieceType.ROOK)) {
+                rights |= WHITE_KING_SIDE;
+            }
+            if (hasUnmovedPiece(board, 56, Alliance.WHITE, PieceType.ROOK)) {
+                rights |= WHITE_QUEEN_SIDE;
+            }
+        }
+        if (hasUnmovedPiece(board, 4, Alliance.BLACK, PieceType.KING)) {
+            if (hasUnmovedPiece(board, 7, Alliance.BLACK, PieceType.ROOK)) {
+                rights |= BLACK_KING_SIDE;
+            }
+            if (hasUnmovedPiece(board, 0, Alliance.BLACK, PieceType.ROOK)) {
+                rights |= BLACK_QUEEN_SIDE;
+            }
+        }
+        return rights;
+    }
+
+    private static boolean hasUnmovedPiece(final Board board, final int square, final Alliance alliance,
+                                           final PieceType pieceType) {
+        final Piece piece = board.getTile(square).getPiece();
+        return piece != null && piece.isFirstMove() && piece.getPieceAlliance() == alliance
+                && piece.getPieceType() == pieceType;
+    }
+
+    private static int[] initCastlingMask() {
+        final int[] mask = new int[NUM_TILES];
+        Arrays.fill(mask, WHITE_KING_SIDE | WHITE_QUEEN_SIDE | BLACK_KING_SIDE | BLACK_QUEEN_SIDE);
+        mask[60] &= ~(WHITE_KING_SIDE | WHITE_QUEEN_SIDE);
+        mask[63] &= ~WHITE_KING_SIDE;
+        mask[56] &= ~WHITE_QUEEN_SIDE;
+        mask[4] &= ~(BLACK_KING_SIDE | BLACK_QUEEN_SIDE);
+        mask[7] &= ~BLACK_KING_SIDE;
+        mask[0] &= ~BLACK_QUEEN_SIDE;
+        return mask;
+    }
+
+    public static Alliance opponent(final Alliance alliance) {
+        return alliance.isWhite() ? Alliance.BLACK : Alliance.WHITE;
+    }
+}
@@ -1,6 +1,7 @@
 package com.chessAI.board;
 
 import com.chessAI.piece.Piece;
+import com.chessAI.piece.PieceUtils;
 import com.google.common.collect.ImmutableMap;
 
 import java.util.HashMap;
@@ -27,8 +28,24 @@ public abstract class Tile {
         this.tileCoordinate = tileCoordinate;
     }
 
+    private static final OccupiedTile[] OCCUPIED_TILES_CACHE = createAllPossibleOccupiedTiles();
+
+    // one tile per possible piece, the piece already knows which tile it stands on
+    private static OccupiedTile[] createAllPossibleOccupiedTiles() {
+        final OccupiedTile[] occupiedTiles = new OccupiedTile[PieceUtils.NUM_PIECES];
+        for (int i = 0; i < PieceUtils.NUM_PIECES; i++) {
+            final Piece piece = PieceUtils.getPiece(i);
+            occupiedTiles[i] = new OccupiedTile(piece.getPiecePosition(), piece);
+        }
+        return occupiedTiles;
+    }
+
     public static Tile createTile(final int tileCordinate, final Piece piece){
-        return piece != null ? new OccupiedTile(tileCordinate, piece) : EMPTY_TILES_CACHE.get(tileCordinate);
+        if (piece == null) {
+            return EMPTY_TILES_CACHE.get(tileCordinate);
+        }
+        final Tile tile = OCCUPIED_TILES_CACHE[PieceUtils.indexOf(piece)];
+        return tile.getTileCoordinate() == tileCordinate ? tile : new OccupiedTile(tileCordinate, piece);
     }
 
     public abstract boolean isTileOccupied();
@@ -0,0 +1,86 @@
+package com.chessAI.board;
+
+import com.chessAI.Alliance;
+import com.chessAI.piece.Piece;
+import com.chessAI.piece.Piece.PieceType;
+
+import java.util.Random;
+
+import static com.chessAI.board.BitBoard.NUM_PIECE_TYPES;
+import static com.chessAI.board.BoardUtils.NUM_TILES;
+
+// 64-bit Zobrist keys. A position's key is the XOR of one key per piece on its
+// tile, the side-to-move key when black is to move, the key of the castling
+// rights and the key of the en passant file. Board and Position both update
+// their key by XOR-ing only what a move changes.
+public final class Zobrist {
+
+    private static final long SEED = 0x5A0B215EEDL;
+
+    private static final long[][] PIECE_KEYS = new long[2 * NUM_PIECE_TYPES][NUM_TILES];
+    private static final long[] CASTLING_KEYS = new long[16];
+    private static final long[] EN_PASSANT_KEYS = new long[BoardUtils.NUM_TILE_PER_ROW];
+    private static final long SIDE_TO_MOVE_KEY;
+
+    static {
+        final Random random = new Random(SEED);
+        for (final long[] pieceKeys : PIECE_KEYS) {
+            for (int square = 0; square < NUM_TILES; square++) {
+                pieceKeys[square] = random.nextLong();
+            }
+        }
+        // no rights hashes to 0 so the start of an endgame does not need a key
+        for (int rights = 1; rights < CASTLING_KEYS.length; rights++) {
+            CASTLING_KEYS[rights] = random.nextLong();
+        }
+        for (int file = 0; file < EN_PASSANT_KEYS.length; file++) {
+            EN_PASSANT_KEYS[file] = random.nextLong();
+        }
+        SIDE_TO_MOVE_KEY = random.nextLong();
+    }
+
+    private Zobrist() {
+        throw new RuntimeException("Not Instantiable");
+    }
+
+    public static long pieceKey(final int pieceCode, final int square) {
+        return PIECE_KEYS[pieceCode][square];
+    }
+
+    public static long pieceKey(final Alliance alliance, final PieceType pieceType, final int square) {
+        return PIECE_KEYS[Position.pieceCode(alliance, pieceType)][square];
+    }
+
+    public static long pieceKey(final Piece piece) {
+        return pieceKey(piece.getPieceAlliance(), piece.getPieceType(), piece.getPiecePosition());
+    }
+
+    public static long castlingKey(final int castlingRights) {
+        return CASTLING_KEYS[castlingRights];
+    }
+
+    public static long enPassantKey(final int enPassantSquare) {
+        return enPassantSquare == Position.NO_SQUARE ? 0L : EN_PASSANT_KEYS[enPassantSquare % BoardUtils.NUM_TILE_PER_ROW];
+    }
+
+    public static long sideToMoveKey(final Alliance sideToMove) {
+        return sideToMove.isBlack() ? SIDE_TO_MOVE_KEY : 0L;
+    }
+
+    // flips the side to move in either direction
+    public static long sideToMoveKey() {
+        return SIDE_TO_MOVE_KEY;
+    }
+
+    public static long calculateHash(final Board board) {
+        long hash = 0L;
+        for (final Piece piece : board.getWhitePieces()) {
+            hash ^= pieceKey(piece);
+        }
+        for (final Piece piece : board.getBlackPieces()) {
+            hash ^= pieceKey(piece);
+        }
+        return hash ^ castlingKey(board.getCastlingRights()) ^ enPassantKey(board.getEnPassantSquare())
+                ^ sideToMoveKey(board.getMoveMaker());
+    }
+}
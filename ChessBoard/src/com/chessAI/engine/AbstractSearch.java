@@ -0,0 +1,215 @@
+package com.chessAI.engine;
+
+import com.chessAI.board.MoveUtils;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Iterative deepening with aspiration windows around the previous depth's score.
+// Subclasses run the negamax itself and record the principal variation here.
+// Each completed depth is reported to the listeners, a depth cut short by a limit
+// is thrown away. A node or time limit reached during the first depth of the main
+// search only takes effect once that depth is complete, so there is a scored move to
+// play. stop() always ends the search at once.
+abstract class AbstractSearch implements Search {
+
+    static final int MAX_PLY = 128;
+    static final int INFINITY = 31000;
+    static final int MATE_SCORE = 30000;
+    // scores beyond this are mates found within the search
+    static final int MATE_BOUND = MATE_SCORE - MAX_PLY;
+    static final int DRAW_SCORE = 0;
+
+    private static final int ASPIRATION_MIN_DEPTH = 4;
+    private static final int ASPIRATION_WINDOW = 40;
+    private static final int TIME_CHECK_INTERVAL = 1024;
+    private static final int SHARED_NODES_INTERVAL = 64;
+
+    final MoveOrdering moveOrdering = new MoveOrdering();
+    final SearchConfig config;
+    private final List<SearchListener> listeners = new CopyOnWriteArrayList<>();
+    private final int[][] pvTable = new int[MAX_PLY + 1][MAX_PLY + 1];
+    private final int[] pvLength = new int[MAX_PLY + 1];
+    private int[] previousPv = new int[0];
+    private int startDepth = 1;
+
+    private long nodes;
+    private long nodeLimit;
+    private long deadline;
+    private long startMillis;
+    private int maxDepth;
+    private volatile boolean stopped;
+    private boolean limitReached;
+    private boolean depthCompleted;
+    // false for the helpers of a parallel search, whose results are never played
+    private boolean finishFirstDepth = true;
+    // the nodes of every thread of a parallel search, null when searching alone
+    private AtomicLong sharedNodes;
+
+    AbstractSearch(final SearchConfig config) {
+        this.config = config;
+    }
+
+    public SearchConfig getConfig() {
+        return this.config;
+    }
+
+    @Override
+    public SearchResult search(final SearchLimits limits) {
+        prepare(limits);
+        return iterate();
+    }
+
+    // resets the search for new limits, a stop() from here on ends the next iterate() early
+    final void prepare(final SearchLimits limits) {
+        this.startMillis = System.currentTimeMillis();
+        this.nodes = 0;
+        this.nodeLimit = limits.getNodes();
+        this.deadline = limits.calculateDeadline(this.startMillis);
+        this.maxDepth = limits.getDepth();
+        this.stopped = false;
+        this.limitReached = false;
+        this.depthCompleted = false;
+        this.previousPv = new int[0];
+        this.moveOrdering.newSearch();
+        startSearch();
+    }
+
+    final SearchResult iterate() {
+        final long start = this.startMillis;
+        SearchResult result = null;
+        int score = 0;
+        for (int depth = Math.min(this.startDepth, this.maxDepth); depth <= this.maxDepth; depth++) {
+            score = aspirationSearch(depth, score);
+            if (isStopped()) {
+                break;
+            }
+            this.depthCompleted = true;
+            this.previousPv = Arrays.copyOf(this.pvTable[0], this.pvLength[0]);
+            result = new SearchResult(depth, score, this.nodes, System.currentTimeMillis() - start, this.previousPv);
+            for (final SearchListener listener : this.listeners) {
+                listener.depthCompleted(result);
+            }
+            if (this.limitReached) {
+                // a limit was reached while the first depth could not be cut short yet
+                break;
+            }
+            if (Math.abs(score) >= MATE_BOUND && MATE_SCORE - Math.abs(score) <= depth) {
+                // a forced mate within the full-width horizon cannot get any shorter
+                break;
+            }
+        }
+        if (result == null) {
+            // stopped before any depth completed: the best root move searched so far, else any legal one
+            final int move = this.pvLength[0] > 0 ? this.pvTable[0][0] : firstRootMove();
+            result = new SearchResult(0, evaluateRoot(), this.nodes, System.currentTimeMillis() - start,
+                    move == MoveUtils.NO_MOVE ? new int[0] : new int[]{move});
+        }
+        return result;
+    }
+
+    @Override
+    public void stop() {
+        this.stopped = true;
+    }
+
+    @Override
+    public void addListener(final SearchListener listener) {
+        this.listeners.add(listener);
+    }
+
+    // the threads of a parallel search with a node limit add their nodes here in batches, so the
+    // limit bounds all of them together. null leaves every thread to count on its own
+    final void setSharedNodes(final AtomicLong sharedNodes) {
+        this.sharedNodes = sharedNodes;
+    }
+
+    final void setFinishFirstDepth(final boolean finishFirstDepth) {
+        this.finishFirstDepth = finishFirstDepth;
+    }
+
+    // helper threads of a parallel search start deeper so they do not all walk the same tree in step
+    final void setStartDepth(final int startDepth) {
+        this.startDepth = startDepth;
+    }
+
+    // called once before the first depth
+    abstract void startSearch();
+
+    abstract int searchRoot(int depth, int alpha, int beta);
+
+    // a legal move of the root position, MoveUtils.NO_MOVE if it has none
+    abstract int firstRootMove();
+
+    abstract int evaluateRoot();
+
+    // the window starts narrow around the last score and widens on the side that failed
+    private int aspirationSearch(final int depth, final int previousScore) {
+        if (depth < ASPIRATION_MIN_DEPTH || Math.abs(previousScore) >= MATE_BOUND) {
+            return searchRoot(depth, -INFINITY, INFINITY);
+        }
+        int delta = ASPIRATION_WINDOW;
+        int alpha = Math.max(previousScore - delta, -INFINITY);
+        int beta = Math.min(previousScore + delta, INFINITY);
+        while (true) {
+            final int score = searchRoot(depth, alpha, beta);
+            if (isStopped()) {
+                return score;
+            }
+            if (score <= alpha) {
+                alpha = Math.max(score - delta, -INFINITY);
+            } else if (score >= beta) {
+                beta = Math.min(score + delta, INFINITY);
+            } else {
+                return score;
+            }
+            delta *= 2;
+        }
+    }
+
+    // counts the node and reports whether the search has to unwind
+    final boolean countNode() {
+        this.nodes++;
+        if (this.nodes >= this.nodeLimit ||
+                ((this.nodes & (TIME_CHECK_INTERVAL - 1)) == 0 && System.currentTimeMillis() >= this.deadline)) {
+            this.limitReached = true;
+        }
+        if (this.sharedNodes != null && (this.nodes & (SHARED_NODES_INTERVAL - 1)) == 0 &&
+                this.sharedNodes.addAndGet(SHARED_NODES_INTERVAL) >= this.nodeLimit) {
+            this.limitReached = true;
+        }
+        return isStopped();
+    }
+
+    final boolean isStopped() {
+        return this.stopped || (this.limitReached && (this.depthCompleted || !this.finishFirstDepth));
+    }
+
+    final long getNodes() {
+        return this.nodes;
+    }
+
+    final void clearPrincipalVariation(final int ply) {
+        this.pvLength[ply] = ply;
+    }
+
+    // the move followed by the best line found below it
+    final void updatePrincipalVariation(final int ply, final int move) {
+        final int[] line = this.pvTable[ply];
+        line[ply] = move;
+        final int childLength = this.pvLength[ply + 1];
+        System.arraycopy(this.pvTable[ply + 1], ply + 1, line, ply + 1, childLength - (ply + 1));
+        this.pvLength[ply] = Math.max(childLength, ply + 1);
+    }
+
+    // the move the previous depth's principal variation played at this ply
+    final int previousPrincipalMove(final int ply) {
+        return ply < this.previousPv.length ? this.previousPv[ply] : MoveUtils.NO_MOVE;
+    }
+
+    static int mateScore(final int ply) {
+        return -MATE_SCORE + ply;
+    }
+}
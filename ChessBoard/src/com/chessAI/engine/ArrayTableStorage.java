@@ -0,0 +1,35 @@
+package com.chessAI.engine;
+
+import java.util.Arrays;
+
+final class ArrayTableStorage implements TableStorage {
+
+    private final long[] data;
+
+    ArrayTableStorage(final long size) {
+        if (size <= 0 || size > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Heap table size out of range: " + size);
+        }
+        this.data = new long[(int) size];
+    }
+
+    @Override
+    public long get(final long index) {
+        return this.data[(int) index];
+    }
+
+    @Override
+    public void set(final long index, final long value) {
+        this.data[(int) index] = value;
+    }
+
+    @Override
+    public long size() {
+        return this.data.length;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(this.data, 0L);
+    }
+}
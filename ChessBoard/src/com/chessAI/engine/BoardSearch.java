@@ -0,0 +1,248 @@
+package com.chessAI.engine;
+
+import com.chessAI.Alliance;
+import com.chessAI.board.BitBoard;
+import com.chessAI.board.Board;
+import com.chessAI.board.Move;
+import com.chessAI.board.MoveUtils;
+import com.chessAI.player.MoveTransition;
+import com.chessAI.piece.Piece.PieceType;
+import com.chessAI.player.Player;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+// The same principal variation search over immutable Boards and Player.makeMove,
+// without a transposition table. Slow, but it only uses the API the GUI plays
+// with, so the faster searches can be checked against it. Its quiescence search
+// tries every capture, without static exchange pruning. The null move passes the
+// turn through Move.NullMove, the other selective techniques are the same.
+public final class BoardSearch extends AbstractSearch {
+
+    private final Board board;
+
+    public BoardSearch(final Board board) {
+        this(board, new SearchConfig.Builder().build());
+    }
+
+    public BoardSearch(final Board board, final SearchConfig config) {
+        super(config);
+        this.board = board;
+    }
+
+    @Override
+    public String getName() {
+        return "board";
+    }
+
+    @Override
+    void startSearch() {
+    }
+
+    @Override
+    int searchRoot(final int depth, final int alpha, final int beta) {
+        return search(this.board, depth, 0, alpha, beta, MoveUtils.NO_MOVE);
+    }
+
+    @Override
+    int firstRootMove() {
+        final Player player = this.board.currentPlayer();
+        for (final Move move : player.getLegalMoves()) {
+            if (player.makeMove(move).getMoveStatus().isDone()) {
+                return MoveUtils.fromMove(move);
+            }
+        }
+        return MoveUtils.NO_MOVE;
+    }
+
+    @Override
+    int evaluateRoot() {
+        return Evaluation.evaluate(this.board);
+    }
+
+    private int search(final Board board, int depth, final int ply, int alpha, final int beta,
+                       final int previousMove) {
+        clearPrincipalVariation(ply);
+        if (countNode()) {
+            return DRAW_SCORE;
+        }
+        final Player player = board.currentPlayer();
+        final boolean inCheck = player.isInCheck();
+        if (inCheck && this.config.isCheckExtensions()) {
+            depth++;
+        }
+        if (depth <= 0 || ply >= MAX_PLY) {
+            return quiescence(board, ply, alpha, beta);
+        }
+
+        final boolean pvNode = beta - alpha > 1;
+        int futilityMargin = Integer.MAX_VALUE;
+        int staticEval = -INFINITY;
+        if (!pvNode && !inCheck) {
+            staticEval = Evaluation.evaluate(board);
+            if (this.config.allowsRazoring(depth) && staticEval + this.config.razorMargin(depth) <= alpha) {
+                final int score = quiescence(board, ply, alpha, alpha + 1);
+                if (isStopped()) {
+                    return DRAW_SCORE;
+                }
+                if (score <= alpha) {
+                    return score;
+                }
+            }
+            if (ply > 0 && previousMove != MoveUtils.NO_MOVE && this.config.allowsNullMove(depth) &&
+                    staticEval >= beta && hasPiecesBesidesPawns(board, board.getMoveMaker())) {
+                final Board passed = Move.MoveFactory.createNullMove(board).execute();
+                final int score = -search(passed, depth - 1 - this.config.nullMoveReduction(depth), ply + 1,
+                        -beta, -beta + 1, MoveUtils.NO_MOVE);
+                if (isStopped()) {
+                    return DRAW_SCORE;
+                }
+                if (score >= beta) {
+                    return score >= MATE_BOUND ? beta : score;
+                }
+            }
+            futilityMargin = this.config.futilityMargin(depth);
+        }
+        final boolean futile = futilityMargin != Integer.MAX_VALUE && staticEval + futilityMargin <= alpha;
+
+        final int side = board.getMoveMaker().ordinal();
+        final List<Move> moves = orderMoves(player.getLegalMoves(), ply, previousMove, side);
+        final List<Integer> searchedQuiets = new ArrayList<>();
+        int bestScore = -INFINITY;
+        int searched = 0;
+        for (final Move move : moves) {
+            final MoveTransition transition = player.makeMove(move);
+            if (!transition.getMoveStatus().isDone()) {
+                continue;
+            }
+            final Board next = transition.getTransistionBoard();
+            final int packedMove = MoveUtils.fromMove(move);
+            final boolean quiet = MoveUtils.isQuiet(packedMove);
+            final boolean givesCheck = next.currentPlayer().isInCheck();
+            if (futile && quiet && !givesCheck && searched > 0) {
+                continue;
+            }
+            int score;
+            if (searched++ == 0) {
+                score = -search(next, depth - 1, ply + 1, -beta, -alpha, packedMove);
+            } else {
+                final int reduction = quiet && !inCheck && !givesCheck ?
+                        this.config.lateMoveReduction(depth, searched, pvNode) : 0;
+                score = -search(next, depth - 1 - reduction, ply + 1, -alpha - 1, -alpha, packedMove);
+                if (reduction > 0 && score > alpha) {
+                    score = -search(next, depth - 1, ply + 1, -alpha - 1, -alpha, packedMove);
+                }
+                if (score > alpha && score < beta) {
+                    score = -search(next, depth - 1, ply + 1, -beta, -alpha, packedMove);
+                }
+            }
+            if (isStopped()) {
+                return DRAW_SCORE;
+            }
+            if (score > bestScore) {
+                bestScore = score;
+                if (score > alpha) {
+                    alpha = score;
+                    updatePrincipalVariation(ply, packedMove);
+                    if (alpha >= beta) {
+                        if (quiet) {
+                            this.moveOrdering.updateQuietCutoff(packedMove, ply, previousMove, side, depth);
+                            for (final int searchedQuiet : searchedQuiets) {
+                                this.moveOrdering.penalizeQuiet(searchedQuiet, side, depth);
+                            }
+                        }
+                        break;
+                    }
+                }
+            }
+            if (quiet) {
+                searchedQuiets.add(packedMove);
+            }
+        }
+        if (searched == 0) {
+            return inCheck ? mateScore(ply) : DRAW_SCORE;
+        }
+        return bestScore;
+    }
+
+    private int quiescence(final Board board, final int ply, int alpha, final int beta) {
+        clearPrincipalVariation(ply);
+        if (ply > 0 && countNode()) {
+            return DRAW_SCORE;
+        }
+        if (ply >= MAX_PLY) {
+            return Evaluation.evaluate(board);
+        }
+        final Player player = board.currentPlayer();
+        final boolean inCheck = player.isInCheck();
+        int bestScore = -INFINITY;
+        if (!inCheck) {
+            bestScore = Evaluation.evaluate(board);
+            if (bestScore >= beta) {
+                return bestScore;
+            }
+            alpha = Math.max(alpha, bestScore);
+        }
+        int searched = 0;
+        for (final Move move : orderMoves(player.getLegalMoves(), ply, MoveUtils.NO_MOVE, board.getMoveMaker().ordinal())) {
+            final int packedMove = MoveUtils.fromMove(move);
+            if (!inCheck && MoveUtils.isQuiet(packedMove)) {
+                continue;
+            }
+            final MoveTransition transition = player.makeMove(move);
+            if (!transition.getMoveStatus().isDone()) {
+                continue;
+            }
+            searched++;
+            final int score = -quiescence(transition.getTransistionBoard(), ply + 1, -beta, -alpha);
+            if (isStopped()) {
+                return DRAW_SCORE;
+            }
+            if (score > bestScore) {
+                bestScore = score;
+                if (score > alpha) {
+                    alpha = score;
+                    updatePrincipalVariation(ply, packedMove);
+                    if (alpha >= beta) {
+                        break;
+                    }
+                }
+            }
+        }
+        if (inCheck && searched == 0) {
+            return mateScore(ply);
+        }
+        return bestScore;
+    }
+
+    private static boolean hasPiecesBesidesPawns(final Board board, final Alliance side) {
+        final BitBoard bitBoard = board.getBitBoard();
+        return (bitBoard.getOccupancy(side) & ~bitBoard.getPieces(side, PieceType.PAWN)
+                & ~bitBoard.getPieces(side, PieceType.KING)) != 0;
+    }
+
+    // the last depth's principal variation stands in for the hash move this search has no table for
+    private List<Move> orderMoves(final Collection<Move> legalMoves, final int ply, final int previousMove,
+                                  final int side) {
+        final List<Move> moves = new ArrayList<>(legalMoves);
+        final int[] scores = new int[moves.size()];
+        final int hashMove = previousPrincipalMove(ply);
+        for (int i = 0; i < scores.length; i++) {
+            scores[i] = this.moveOrdering.score(MoveUtils.fromMove(moves.get(i)), hashMove, ply, previousMove, side);
+        }
+        for (int i = 1; i < scores.length; i++) {
+            final Move move = moves.get(i);
+            final int score = scores[i];
+            int j = i - 1;
+            while (j >= 0 && scores[j] < score) {
+                moves.set(j + 1, moves.get(j));
+                scores[j + 1] = scores[j];
+                j--;
+            }
+            moves.set(j + 1, move);
+            scores[j + 1] = score;
+        }
+        return moves;
+    }
+}
@@ -0,0 +1,70 @@
+package com.chessAI.engine;
+
+import com.chessAI.board.Board;
+import com.chessAI.board.FenUtilities;
+import com.chessAI.board.MoveUtils;
+
+import java.util.Arrays;
+
+// Command line search:
+//   Engine <board|position> depth <depth> [fen]    searches to a fixed depth
+//   Engine <board|position> nodes <nodes> [fen]    searches until the node budget is spent
+//   Engine <board|position> movetime <ms> [fen]    searches until the deadline
+// smp searches with Lazy SMP on all cores, smp-<threads> on that many threads.
+// Prints one line per completed depth and the best move at the end.
+public final class Engine {
+
+    private Engine() {
+        throw new RuntimeException("Not Instantiable");
+    }
+
+    public static void main(final String[] args) {
+        if (args.length < 3) {
+            System.out.println("usage: Engine <board|position|smp|smp-<threads>> <depth|nodes|movetime> <limit> [fen]");
+            return;
+        }
+        final Board board = args.length > 3 ? FenUtilities.createGameFromFEN(
+                String.join(" ", Arrays.copyOfRange(args, 3, args.length)))
+                : Board.createStandardBoard();
+        final Search search = createSearch(args[0], board);
+        search.addListener(result -> System.out.println("info " + result));
+        final SearchResult result = search.search(createLimits(args[1], Long.parseLong(args[2])));
+        System.out.println("bestmove " + MoveUtils.toString(result.getBestMove()));
+    }
+
+    public static Search createSearch(final String name, final Board board) {
+        return createSearch(name, board, new SearchConfig.Builder().build());
+    }
+
+    public static Search createSearch(final String name, final Board board, final SearchConfig config) {
+        switch (name) {
+            case "board":
+                return new BoardSearch(board, config);
+            case "position":
+                return new PositionSearch(board, new TranspositionTable.Builder().build(), config);
+            case "smp":
+                return new LazySmpSearch(board, Runtime.getRuntime().availableProcessors(),
+                        new TranspositionTable.Builder().build(), config);
+            default:
+                if (name.startsWith("smp-")) {
+                    return new LazySmpSearch(board, Integer.parseInt(name.substring("smp-".length())),
+                            new TranspositionTable.Builder().build(), config);
+                }
+                throw new IllegalArgumentException("Unknown search: " + name);
+        }
+    }
+
+    public static SearchLimits createLimits(final String kind, final long limit) {
+        final SearchLimits.Builder builder = new SearchLimits.Builder();
+        switch (kind) {
+            case "depth":
+                return builder.setDepth((int) limit).build();
+            case "nodes":
+                return builder.setNodes(limit).build();
+            case "movetime":
+                return builder.setMoveTimeMillis(limit).build();
+            default:
+                throw new IllegalArgumentException("Unknown search limit: " + kind);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.chessAI.engine;
+
+import com.chessAI.Alliance;
+import com.chessAI.board.Board;
+import com.chessAI.board.PieceSquareTable;
+import com.chessAI.board.Position;
+
+// Static evaluation in centipawns from the side to move's point of view: material
+// and piece-square values, blended from their middlegame to their endgame weights as
+// the pieces come off. Board and Position keep both sums up to date with every move,
+// so evaluating costs a few arithmetic operations and never looks at a square.
+public final class Evaluation {
+
+    private Evaluation() {
+        throw new RuntimeException("Not Instantiable");
+    }
+
+    public static int evaluate(final Position position) {
+        return taper(position.getMidgameScore(), position.getEndgameScore(), position.getGamePhase(),
+                position.getSideToMove());
+    }
+
+    public static int evaluate(final Board board) {
+        return taper(board.getMidgameScore(), board.getEndgameScore(), board.getGamePhase(), board.getMoveMaker());
+    }
+
+    private static int taper(final int midgameScore, final int endgameScore, final int gamePhase,
+                             final Alliance sideToMove) {
+        // promotions can push the phase past a full set of pieces
+        final int phase = Math.min(gamePhase, PieceSquareTable.MAX_PHASE);
+        final int score = (midgameScore * phase + endgameScore * (PieceSquareTable.MAX_PHASE - phase))
+                / PieceSquareTable.MAX_PHASE;
+        return sideToMove.isWhite() ? score : -score;
+    }
+}
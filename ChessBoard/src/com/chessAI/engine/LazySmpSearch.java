@@ -0,0 +1,132 @@
+package com.chessAI.engine;
+
+import com.chessAI.board.Board;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Lazy SMP: every thread runs its own PositionSearch on the same root and they
+// only share the transposition table. Helpers on odd threads start one depth
+// deeper, so their results reach the table ahead of the main thread and the
+// threads drift apart in move order. The main thread's search is the result,
+// the helpers are stopped as soon as it finishes. A node limit counts the nodes of
+// all threads together.
+public final class LazySmpSearch implements Search {
+
+    private final TranspositionTable table;
+    private final PositionSearch mainSearch;
+    private final List<PositionSearch> helpers;
+    private final List<SearchListener> listeners = new CopyOnWriteArrayList<>();
+
+    public LazySmpSearch(final Board board, final int threadCount) {
+        this(board, threadCount, new TranspositionTable.Builder().build());
+    }
+
+    public LazySmpSearch(final Board board, final int threadCount, final TranspositionTable table) {
+        this(board, threadCount, table, new SearchConfig.Builder().build());
+    }
+
+    public LazySmpSearch(final Board board, final int threadCount, final TranspositionTable table,
+                         final SearchConfig config) {
+        if (threadCount < 1) {
+            throw new IllegalArgumentException("Thread count must be positive: " + threadCount);
+        }
+        this.table = table;
+        this.mainSearch = new PositionSearch(board, table, config, false);
+        this.helpers = new ArrayList<>();
+        for (int i = 1; i < threadCount; i++) {
+            final PositionSearch helper = new PositionSearch(board, table, config, false);
+            helper.setStartDepth(1 + (i & 1));
+            helper.setFinishFirstDepth(false);
+            this.helpers.add(helper);
+        }
+        // depths are reported with the nodes of every thread, not only the main one
+        this.mainSearch.addListener(result -> {
+            final SearchResult total = new SearchResult(result.getDepth(), result.getScore(), getTotalNodes(),
+                    result.getElapsedMillis(), result.getPrincipalVariation());
+            for (final SearchListener listener : this.listeners) {
+                listener.depthCompleted(total);
+            }
+        });
+    }
+
+    @Override
+    public String getName() {
+        return "lazy-smp-" + getThreadCount();
+    }
+
+    public int getThreadCount() {
+        return this.helpers.size() + 1;
+    }
+
+    @Override
+    public SearchResult search(final SearchLimits limits) {
+        this.table.newSearch();
+        final List<Thread> threads = new ArrayList<>();
+        // only a node limit needs the threads to count together, the counter costs cross-core traffic
+        final AtomicLong sharedNodes = limits.getNodes() == Long.MAX_VALUE ? null : new AtomicLong();
+        this.mainSearch.setSharedNodes(sharedNodes);
+        this.mainSearch.prepare(limits);
+        for (int i = 0; i < this.helpers.size(); i++) {
+            final PositionSearch helper = this.helpers.get(i);
+            helper.setSharedNodes(sharedNodes);
+            helper.prepare(limits);
+            final Thread thread = new Thread(helper::iterate, "lazy-smp-helper-" + (i + 1));
+            thread.setDaemon(true);
+            thread.start();
+            threads.add(thread);
+        }
+
+        final SearchResult result;
+        try {
+            result = this.mainSearch.iterate();
+        } finally {
+            for (final PositionSearch helper : this.helpers) {
+                helper.stop();
+            }
+            for (final Thread thread : threads) {
+                joinUninterruptibly(thread);
+            }
+        }
+        return new SearchResult(result.getDepth(), result.getScore(), getTotalNodes(), result.getElapsedMillis(),
+                result.getPrincipalVariation());
+    }
+
+    @Override
+    public void stop() {
+        this.mainSearch.stop();
+        for (final PositionSearch helper : this.helpers) {
+            helper.stop();
+        }
+    }
+
+    @Override
+    public void addListener(final SearchListener listener) {
+        this.listeners.add(listener);
+    }
+
+    // read while helpers are still running this is only a close estimate
+    private long getTotalNodes() {
+        long nodes = this.mainSearch.getNodes();
+        for (final PositionSearch helper : this.helpers) {
+            nodes += helper.getNodes();
+        }
+        return nodes;
+    }
+
+    private static void joinUninterruptibly(final Thread thread) {
+        boolean interrupted = false;
+        while (thread.isAlive()) {
+            try {
+                thread.join();
+            } catch (final InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
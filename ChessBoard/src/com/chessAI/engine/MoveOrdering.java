@@ -0,0 +1,101 @@
+package com.chessAI.engine;
+
+import com.chessAI.board.BitBoard;
+import com.chessAI.board.MoveUtils;
+import com.chessAI.piece.Piece.PieceType;
+
+// Scores moves so the ones most likely to cut off come first: the hash move, then
+// captures and queen promotions by most valuable victim / least valuable attacker,
+// then the two killers of the ply, then the counter-move to the opponent's last
+// move, then the remaining quiet moves by history. One instance per search thread.
+final class MoveOrdering {
+
+    static final int HASH_MOVE_SCORE = 1 << 30;
+    static final int CAPTURE_SCORE = 1 << 28;
+    static final int KILLER_SCORE = 1 << 27;
+    static final int COUNTER_MOVE_SCORE = KILLER_SCORE - 2;
+
+    private static final int KILLERS_PER_PLY = 2;
+    private static final int MAX_HISTORY = 1 << 20;
+
+    private final int[][] killers = new int[AbstractSearch.MAX_PLY + 1][KILLERS_PER_PLY];
+    // the reply that refuted a move, by side that made it, moved piece type and destination
+    private final int[][] counterMoves = new int[2 * BitBoard.NUM_PIECE_TYPES][64];
+    // how often a quiet move caused a cutoff, by side to move, origin and destination
+    private final int[][][] history = new int[2][64][64];
+
+    // killers only hold for the tree they came from, history is kept but weighs less
+    void newSearch() {
+        for (final int[] plyKillers : this.killers) {
+            plyKillers[0] = MoveUtils.NO_MOVE;
+            plyKillers[1] = MoveUtils.NO_MOVE;
+        }
+        for (final int[][] sideHistory : this.history) {
+            for (final int[] fromHistory : sideHistory) {
+                for (int to = 0; to < fromHistory.length; to++) {
+                    fromHistory[to] /= 8;
+                }
+            }
+        }
+    }
+
+    int score(final int move, final int hashMove, final int ply, final int previousMove, final int side) {
+        if (move == hashMove) {
+            return HASH_MOVE_SCORE;
+        }
+        if (MoveUtils.isCapture(move) || MoveUtils.getPromotionType(move) == PieceType.QUEEN) {
+            final int victimValue = MoveUtils.isCapture(move) ? MoveUtils.getCapturedType(move).getPieceValue() : 0;
+            final int promotionValue = MoveUtils.isPromotion(move) ? MoveUtils.getPromotionType(move).getPieceValue() : 0;
+            return CAPTURE_SCORE + (victimValue + promotionValue) * 64 - MoveUtils.getMovedType(move).getPieceValue() / 64;
+        }
+        final int[] plyKillers = this.killers[ply];
+        if (move == plyKillers[0]) {
+            return KILLER_SCORE;
+        }
+        if (move == plyKillers[1]) {
+            return KILLER_SCORE - 1;
+        }
+        if (previousMove != MoveUtils.NO_MOVE &&
+                move == this.counterMoves[counterIndex(previousMove, side)][MoveUtils.getTo(previousMove)]) {
+            return COUNTER_MOVE_SCORE;
+        }
+        return this.history[side][MoveUtils.getFrom(move)][MoveUtils.getTo(move)];
+    }
+
+    // the killers of the ply and the counter-move to the previous move, NO_MOVE where there is none
+    void getRefutations(final int ply, final int previousMove, final int side, final int[] refutations) {
+        refutations[0] = this.killers[ply][0];
+        refutations[1] = this.killers[ply][1];
+        refutations[2] = previousMove == MoveUtils.NO_MOVE ? MoveUtils.NO_MOVE
+                : this.counterMoves[counterIndex(previousMove, side)][MoveUtils.getTo(previousMove)];
+    }
+
+    // a quiet move that failed high becomes a killer, the counter-move to the last move and gains history
+    void updateQuietCutoff(final int move, final int ply, final int previousMove, final int side, final int depth) {
+        final int[] plyKillers = this.killers[ply];
+        if (plyKillers[0] != move) {
+            plyKillers[1] = plyKillers[0];
+            plyKillers[0] = move;
+        }
+        if (previousMove != MoveUtils.NO_MOVE) {
+            this.counterMoves[counterIndex(previousMove, side)][MoveUtils.getTo(previousMove)] = move;
+        }
+        addHistory(move, side, depth * depth);
+    }
+
+    // quiet moves searched before the one that failed high were ordered too early
+    void penalizeQuiet(final int move, final int side, final int depth) {
+        addHistory(move, side, -depth * depth);
+    }
+
+    private void addHistory(final int move, final int side, final int bonus) {
+        final int[] fromHistory = this.history[side][MoveUtils.getFrom(move)];
+        final int to = MoveUtils.getTo(move);
+        fromHistory[to] = Math.max(-MAX_HISTORY, Math.min(MAX_HISTORY, fromHistory[to] + bonus));
+    }
+
+    // the previous move was made by the other side
+    private static int counterIndex(final int previousMove, final int side) {
+        return (1 - side) * BitBoard.NUM_PIECE_TYPES + MoveUtils.getMovedType(previousMove).ordinal();
+    }
+}
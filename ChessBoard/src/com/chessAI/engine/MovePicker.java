@@ -0,0 +1,189 @@
+package com.chessAI.engine;
+
+import com.chessAI.board.MoveGenerator;
+import com.chessAI.board.MoveList;
+import com.chessAI.board.MoveUtils;
+import com.chessAI.board.Position;
+
+// Hands out the moves of one node in stages and only does a stage's work once the
+// earlier stages are used up: the hash move, then captures and promotions best
+// victim first, then the killers and the counter-move, then the remaining quiet
+// moves by history. A node that cuts off on the hash move or a capture never
+// generates its quiet moves. Quiescence nodes stop after the captures. One picker
+// per ply, reused from node to node.
+final class MovePicker {
+
+    private enum Stage {
+        HASH_MOVE,
+        GENERATE_CAPTURES,
+        CAPTURES,
+        KILLERS,
+        GENERATE_QUIETS,
+        QUIETS,
+        DONE
+    }
+
+    private static final int NUM_REFUTATIONS = 3;
+
+    private final MoveOrdering moveOrdering;
+    private final MoveList moves = new MoveList();
+    private final int[] scores = new int[MoveList.DEFAULT_CAPACITY];
+    // the killers and the counter-move, tried between the captures and the quiets
+    private final int[] refutations = new int[NUM_REFUTATIONS];
+
+    private Position position;
+    private Stage stage;
+    private int hashMove;
+    private int ply;
+    private int previousMove;
+    private int side;
+    private int index;
+    private boolean capturesOnly;
+
+    MovePicker(final MoveOrdering moveOrdering) {
+        this.moveOrdering = moveOrdering;
+    }
+
+    void init(final Position position, final int hashMove, final int ply) {
+        this.position = position;
+        this.hashMove = hashMove;
+        this.ply = ply;
+        this.previousMove = position.getLastMove();
+        this.side = position.getSideToMove().ordinal();
+        this.stage = Stage.HASH_MOVE;
+        this.capturesOnly = false;
+    }
+
+    // captures and promotions only, for quiescence nodes that are not in check
+    void initCaptures(final Position position, final int ply) {
+        init(position, MoveUtils.NO_MOVE, ply);
+        this.capturesOnly = true;
+    }
+
+    // the next move to search, MoveUtils.NO_MOVE once every legal move was handed out
+    int nextMove() {
+        while (true) {
+            switch (this.stage) {
+                case HASH_MOVE:
+                    this.stage = Stage.GENERATE_CAPTURES;
+                    if (MoveGenerator.isLegal(this.position, this.hashMove)) {
+                        return this.hashMove;
+                    }
+                    this.hashMove = MoveUtils.NO_MOVE;
+                    break;
+                case GENERATE_CAPTURES:
+                    this.moves.clear();
+                    MoveGenerator.generateLegalCaptures(this.position, this.moves);
+                    scoreMoves();
+                    this.stage = Stage.CAPTURES;
+                    break;
+                case CAPTURES: {
+                    final int move = pickBest();
+                    if (move != MoveUtils.NO_MOVE) {
+                        return move;
+                    }
+                    if (this.capturesOnly) {
+                        this.stage = Stage.DONE;
+                        break;
+                    }
+                    this.moveOrdering.getRefutations(this.ply, this.previousMove, this.side, this.refutations);
+                    this.index = 0;
+                    this.stage = Stage.KILLERS;
+                    break;
+                }
+                case KILLERS:
+                    while (this.index < NUM_REFUTATIONS) {
+                        final int move = this.refutations[this.index++];
+                        if (move != this.hashMove && !isEarlierRefutation(move)
+                                && MoveGenerator.isLegal(this.position, move)) {
+                            return move;
+                        }
+                    }
+                    this.stage = Stage.GENERATE_QUIETS;
+                    break;
+                case GENERATE_QUIETS:
+                    this.moves.clear();
+                    MoveGenerator.generateLegalQuiets(this.position, this.moves);
+                    scoreMoves();
+                    sortMoves();
+                    this.stage = Stage.QUIETS;
+                    break;
+                case QUIETS:
+                    while (this.index < this.moves.size()) {
+                        final int move = this.moves.get(this.index++);
+                        // already handed out by an earlier stage
+                        if (move != this.hashMove && !isRefutation(move)) {
+                            return move;
+                        }
+                    }
+                    this.stage = Stage.DONE;
+                    break;
+                default:
+                    return MoveUtils.NO_MOVE;
+            }
+        }
+    }
+
+    private void scoreMoves() {
+        for (int i = 0; i < this.moves.size(); i++) {
+            this.scores[i] = this.moveOrdering.score(this.moves.get(i), MoveUtils.NO_MOVE, this.ply,
+                    this.previousMove, this.side);
+        }
+        this.index = 0;
+    }
+
+    // a node that reaches the quiet moves usually searches all of them, so they are sorted
+    // at once, insertion sort being close to linear on mostly equal history scores
+    private void sortMoves() {
+        for (int i = 1; i < this.moves.size(); i++) {
+            final int move = this.moves.get(i);
+            final int score = this.scores[i];
+            int j = i - 1;
+            while (j >= 0 && this.scores[j] < score) {
+                this.moves.set(j + 1, this.moves.get(j));
+                this.scores[j + 1] = this.scores[j];
+                j--;
+            }
+            this.moves.set(j + 1, move);
+            this.scores[j + 1] = score;
+        }
+    }
+
+    // selection sort one capture at a time, the tail is never sorted if the node cuts off
+    private int pickBest() {
+        while (this.index < this.moves.size()) {
+            int best = this.index;
+            for (int i = this.index + 1; i < this.moves.size(); i++) {
+                if (this.scores[i] > this.scores[best]) {
+                    best = i;
+                }
+            }
+            final int move = this.moves.get(best);
+            this.moves.set(best, this.moves.get(this.index));
+            this.scores[best] = this.scores[this.index];
+            this.index++;
+            if (move != this.hashMove) {
+                return move;
+            }
+        }
+        return MoveUtils.NO_MOVE;
+    }
+
+    private boolean isRefutation(final int move) {
+        for (final int refutation : this.refutations) {
+            if (refutation == move) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isEarlierRefutation(final int move) {
+        for (int i = 0; i < this.index - 1; i++) {
+            if (this.refutations[i] == move) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
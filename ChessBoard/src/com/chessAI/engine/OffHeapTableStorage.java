@@ -0,0 +1,55 @@
+package com.chessAI.engine;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+
+// Direct memory split into 1GB chunks, since a single direct buffer is capped at
+// 2GB. The GC only sees the chunk objects, never the entries. Limited by
+// -XX:MaxDirectMemorySize.
+final class OffHeapTableStorage implements TableStorage {
+
+    private static final int CHUNK_SHIFT = 27;
+    private static final long CHUNK_SIZE = 1L << CHUNK_SHIFT;
+    private static final long CHUNK_MASK = CHUNK_SIZE - 1;
+
+    private final LongBuffer[] chunks;
+    private final long size;
+
+    OffHeapTableStorage(final long size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Off-heap table size out of range: " + size);
+        }
+        this.size = size;
+        this.chunks = new LongBuffer[(int) ((size + CHUNK_SIZE - 1) >>> CHUNK_SHIFT)];
+        for (int i = 0; i < this.chunks.length; i++) {
+            final long chunkSize = Math.min(CHUNK_SIZE, size - ((long) i << CHUNK_SHIFT));
+            this.chunks[i] = ByteBuffer.allocateDirect((int) (chunkSize * Long.BYTES))
+                    .order(ByteOrder.nativeOrder()).asLongBuffer();
+        }
+    }
+
+    @Override
+    public long get(final long index) {
+        return this.chunks[(int) (index >>> CHUNK_SHIFT)].get((int) (index & CHUNK_MASK));
+    }
+
+    @Override
+    public void set(final long index, final long value) {
+        this.chunks[(int) (index >>> CHUNK_SHIFT)].put((int) (index & CHUNK_MASK), value);
+    }
+
+    @Override
+    public long size() {
+        return this.size;
+    }
+
+    @Override
+    public void clear() {
+        for (final LongBuffer chunk : this.chunks) {
+            for (int i = 0; i < chunk.capacity(); i++) {
+                chunk.put(i, 0L);
+            }
+        }
+    }
+}
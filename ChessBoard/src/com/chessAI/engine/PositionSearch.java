@@ -0,0 +1,285 @@
+package com.chessAI.engine;
+
+import com.chessAI.Alliance;
+import com.chessAI.board.Board;
+import com.chessAI.board.MoveGenerator;
+import com.chessAI.board.MoveList;
+import com.chessAI.board.MoveUtils;
+import com.chessAI.board.Position;
+import com.chessAI.engine.TranspositionTable.Bound;
+import com.chessAI.piece.Piece.PieceType;
+
+// Principal variation search over Position with make/unmake, a transposition
+// table and a staged MovePicker per ply. At the horizon a quiescence search
+// resolves the captures, skipping those the static exchange says lose material.
+// The selective techniques of the SearchConfig prune and reduce the tree in front
+// of it.
+public final class PositionSearch extends AbstractSearch {
+
+    private final Position position;
+    private final TranspositionTable table;
+    private final MovePicker[] movePickers = new MovePicker[MAX_PLY];
+    private final int[][] searchedQuiets = new int[MAX_PLY][MoveList.DEFAULT_CAPACITY];
+    private final int[] exchangeGains = new int[StaticExchange.MAX_EXCHANGES];
+    // false for the helpers of a parallel search, which share the table of the thread that owns it
+    private final boolean ownsTable;
+
+    public PositionSearch(final Board board) {
+        this(board, new TranspositionTable.Builder().build());
+    }
+
+    public PositionSearch(final Board board, final TranspositionTable table) {
+        this(board, table, new SearchConfig.Builder().build());
+    }
+
+    public PositionSearch(final Board board, final TranspositionTable table, final SearchConfig config) {
+        this(board, table, config, true);
+    }
+
+    PositionSearch(final Board board, final TranspositionTable table, final SearchConfig config,
+                   final boolean ownsTable) {
+        super(config);
+        this.position = new Position(board);
+        this.table = table;
+        this.ownsTable = ownsTable;
+        for (int ply = 0; ply < MAX_PLY; ply++) {
+            this.movePickers[ply] = new MovePicker(this.moveOrdering);
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "position";
+    }
+
+    @Override
+    void startSearch() {
+        if (this.ownsTable) {
+            this.table.newSearch();
+        }
+    }
+
+    @Override
+    int searchRoot(final int depth, final int alpha, final int beta) {
+        return search(depth, 0, alpha, beta);
+    }
+
+    @Override
+    int firstRootMove() {
+        final MoveList moves = new MoveList();
+        MoveGenerator.generateLegalMoves(this.position, moves);
+        return moves.isEmpty() ? MoveUtils.NO_MOVE : moves.get(0);
+    }
+
+    @Override
+    int evaluateRoot() {
+        return Evaluation.evaluate(this.position);
+    }
+
+    private int search(int depth, final int ply, int alpha, final int beta) {
+        clearPrincipalVariation(ply);
+        if (countNode()) {
+            return DRAW_SCORE;
+        }
+        if (ply > 0 && this.position.isRepetition()) {
+            return DRAW_SCORE;
+        }
+        final boolean inCheck = this.position.isInCheck();
+        if (inCheck && this.config.isCheckExtensions()) {
+            // the horizon never falls in the middle of an evasion
+            depth++;
+        }
+        if (depth <= 0 || ply >= MAX_PLY) {
+            return quiescence(ply, alpha, beta);
+        }
+
+        final boolean pvNode = beta - alpha > 1;
+        final long key = this.position.getZobristHash();
+        final long entry = this.table.probe(key);
+        int tableMove = MoveUtils.NO_MOVE;
+        if (entry != TranspositionTable.NO_ENTRY) {
+            tableMove = TranspositionTable.getMove(entry);
+            if (!pvNode && ply > 0 && TranspositionTable.getDepth(entry) >= depth) {
+                final int score = scoreFromTable(TranspositionTable.getScore(entry), ply);
+                final Bound bound = TranspositionTable.getBound(entry);
+                if (bound == Bound.EXACT || (bound == Bound.LOWER && score >= beta) ||
+                        (bound == Bound.UPPER && score <= alpha)) {
+                    return score;
+                }
+            }
+        }
+
+        final int side = this.position.getSideToMove().ordinal();
+        final int previousMove = this.position.getLastMove();
+        // the evaluation only stands in for the score away from the principal variation and out of check
+        int futilityMargin = Integer.MAX_VALUE;
+        int staticEval = -INFINITY;
+        if (!pvNode && !inCheck) {
+            staticEval = Evaluation.evaluate(this.position);
+            if (this.config.allowsRazoring(depth) && staticEval + this.config.razorMargin(depth) <= alpha) {
+                final int score = quiescence(ply, alpha, alpha + 1);
+                if (isStopped()) {
+                    return DRAW_SCORE;
+                }
+                if (score <= alpha) {
+                    return score;
+                }
+            }
+            // a previous NO_MOVE is a null move already, two in a row would prove nothing
+            if (ply > 0 && previousMove != MoveUtils.NO_MOVE && this.config.allowsNullMove(depth) &&
+                    staticEval >= beta && hasPiecesBesidesPawns(this.position.getSideToMove())) {
+                this.position.makeNullMove();
+                final int score = -search(depth - 1 - this.config.nullMoveReduction(depth), ply + 1, -beta, -beta + 1);
+                this.position.unmakeNullMove();
+                if (isStopped()) {
+                    return DRAW_SCORE;
+                }
+                if (score >= beta) {
+                    // a mate found after passing is no proof of one
+                    return score >= MATE_BOUND ? beta : score;
+                }
+            }
+            futilityMargin = this.config.futilityMargin(depth);
+        }
+        final boolean futile = futilityMargin != Integer.MAX_VALUE && staticEval + futilityMargin <= alpha;
+
+        final MovePicker movePicker = this.movePickers[ply];
+        movePicker.init(this.position, tableMove, ply);
+        final int[] quiets = this.searchedQuiets[ply];
+        int quietCount = 0;
+
+        final int originalAlpha = alpha;
+        int bestScore = -INFINITY;
+        int bestMove = MoveUtils.NO_MOVE;
+        int searched = 0;
+        for (int move = movePicker.nextMove(); move != MoveUtils.NO_MOVE; move = movePicker.nextMove()) {
+            final boolean quiet = MoveUtils.isQuiet(move);
+            this.position.makeMove(move);
+            final boolean givesCheck = this.position.isInCheck();
+            if (futile && quiet && !givesCheck && searched > 0) {
+                // a quiet move cannot lift this node to alpha, unless it checks
+                this.position.unmakeMove();
+                continue;
+            }
+            int score;
+            if (searched++ == 0) {
+                score = -search(depth - 1, ply + 1, -beta, -alpha);
+            } else {
+                final int reduction = quiet && !inCheck && !givesCheck ?
+                        this.config.lateMoveReduction(depth, searched, pvNode) : 0;
+                // every later move only has to be proven worse, a null window does that cheaply
+                score = -search(depth - 1 - reduction, ply + 1, -alpha - 1, -alpha);
+                if (reduction > 0 && score > alpha) {
+                    score = -search(depth - 1, ply + 1, -alpha - 1, -alpha);
+                }
+                if (score > alpha && score < beta) {
+                    score = -search(depth - 1, ply + 1, -beta, -alpha);
+                }
+            }
+            this.position.unmakeMove();
+            if (isStopped()) {
+                return DRAW_SCORE;
+            }
+            if (score > bestScore) {
+                bestScore = score;
+                if (score > alpha) {
+                    alpha = score;
+                    bestMove = move;
+                    updatePrincipalVariation(ply, move);
+                    if (alpha >= beta) {
+                        if (MoveUtils.isQuiet(move)) {
+                            updateQuietHistory(move, quiets, quietCount, ply, previousMove, side, depth);
+                        }
+                        break;
+                    }
+                }
+            }
+            if (quiet) {
+                quiets[quietCount++] = move;
+            }
+        }
+        if (searched == 0) {
+            return inCheck ? mateScore(ply) : DRAW_SCORE;
+        }
+
+        final Bound bound = bestScore >= beta ? Bound.LOWER : bestScore > originalAlpha ? Bound.EXACT : Bound.UPPER;
+        this.table.store(key, bestMove, scoreToTable(bestScore, ply), depth, bound);
+        return bestScore;
+    }
+
+    // only captures until the position is quiet, the side to move may always stand pat unless in check
+    private int quiescence(final int ply, int alpha, final int beta) {
+        clearPrincipalVariation(ply);
+        if (ply > 0 && countNode()) {
+            return DRAW_SCORE;
+        }
+        if (ply >= MAX_PLY) {
+            return Evaluation.evaluate(this.position);
+        }
+        final boolean inCheck = this.position.isInCheck();
+        final MovePicker movePicker = this.movePickers[ply];
+        int bestScore = -INFINITY;
+        if (inCheck) {
+            // every evasion has to be looked at, standing pat in check is no option
+            movePicker.init(this.position, MoveUtils.NO_MOVE, ply);
+        } else {
+            bestScore = Evaluation.evaluate(this.position);
+            if (bestScore >= beta) {
+                return bestScore;
+            }
+            alpha = Math.max(alpha, bestScore);
+            movePicker.initCaptures(this.position, ply);
+        }
+
+        int searched = 0;
+        for (int move = movePicker.nextMove(); move != MoveUtils.NO_MOVE; move = movePicker.nextMove()) {
+            if (!inCheck && !MoveUtils.isPromotion(move) && StaticExchange.evaluate(this.position, move, this.exchangeGains) < 0) {
+                continue;
+            }
+            searched++;
+            this.position.makeMove(move);
+            final int score = -quiescence(ply + 1, -beta, -alpha);
+            this.position.unmakeMove();
+            if (isStopped()) {
+                return DRAW_SCORE;
+            }
+            if (score > bestScore) {
+                bestScore = score;
+                if (score > alpha) {
+                    alpha = score;
+                    updatePrincipalVariation(ply, move);
+                    if (alpha >= beta) {
+                        break;
+                    }
+                }
+            }
+        }
+        if (inCheck && searched == 0) {
+            return mateScore(ply);
+        }
+        return bestScore;
+    }
+
+    // with only king and pawns left passing may be the best move, and the null move proves nothing
+    private boolean hasPiecesBesidesPawns(final Alliance side) {
+        return (this.position.getOccupancy(side) & ~this.position.getPieces(side, PieceType.PAWN)
+                & ~this.position.getPieces(side, PieceType.KING)) != 0;
+    }
+
+    private void updateQuietHistory(final int cutoffMove, final int[] quiets, final int quietCount, final int ply,
+                                    final int previousMove, final int side, final int depth) {
+        this.moveOrdering.updateQuietCutoff(cutoffMove, ply, previousMove, side, depth);
+        for (int i = 0; i < quietCount; i++) {
+            this.moveOrdering.penalizeQuiet(quiets[i], side, depth);
+        }
+    }
+
+    // a mate score is stored relative to the node, not the root it was found from
+    private static int scoreToTable(final int score, final int ply) {
+        return score >= MATE_BOUND ? score + ply : score <= -MATE_BOUND ? score - ply : score;
+    }
+
+    private static int scoreFromTable(final int score, final int ply) {
+        return score >= MATE_BOUND ? score - ply : score <= -MATE_BOUND ? score + ply : score;
+    }
+}
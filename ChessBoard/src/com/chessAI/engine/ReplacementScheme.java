@@ -0,0 +1,27 @@
+package com.chessAI.engine;
+
+// Picks which entry of a full bucket a new position overwrites: the one with the
+// lowest replacement value, the first one on ties.
+public enum ReplacementScheme {
+    ALWAYS_REPLACE {
+        @Override
+        int replacementValue(final int depth, final int ageDistance) {
+            return 0;
+        }
+    },
+    DEPTH_PREFERRED {
+        @Override
+        int replacementValue(final int depth, final int ageDistance) {
+            return depth;
+        }
+    },
+    // entries left over from earlier searches go first, then the shallowest
+    AGE_THEN_DEPTH {
+        @Override
+        int replacementValue(final int depth, final int ageDistance) {
+            return depth - 8 * ageDistance;
+        }
+    };
+
+    abstract int replacementValue(int depth, int ageDistance);
+}
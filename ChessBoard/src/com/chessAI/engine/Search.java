@@ -0,0 +1,14 @@
+package com.chessAI.engine;
+
+// Finds the best move of the side to move in one root position.
+public interface Search {
+
+    String getName();
+
+    // searches until a limit is reached or stop() is called, the result is the last completed depth
+    SearchResult search(SearchLimits limits);
+
+    void stop();
+
+    void addListener(SearchListener listener);
+}
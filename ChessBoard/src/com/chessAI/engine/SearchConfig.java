@@ -0,0 +1,237 @@
+package com.chessAI.engine;
+
+// Which selective techniques a search uses and how hard each one prunes. Every
+// technique has its own switch, so its gain can be measured on its own against a
+// search with everything else unchanged:
+//   null move      at depth >= nullMoveMinDepth, a node whose evaluation is above beta passes
+//                  the turn and is cut off if a search reduced by nullMoveReduction + depth / 6
+//                  still fails high
+//   late moves     quiet moves after the first lateMoveMinMoves are searched with a reduction
+//                  growing with the log of depth and move number, and again at full depth if
+//                  they beat alpha
+//   futility       at depth <= futilityMaxDepth, quiet moves are skipped when the evaluation
+//                  plus futilityMargin per ply cannot reach alpha
+//   razoring       at depth <= razorMaxDepth, a node whose evaluation plus razorMargin per ply
+//                  is below alpha drops into quiescence and returns if that confirms it
+//   check extension a node in check is searched one ply deeper
+public final class SearchConfig {
+
+    private static final int MAX_MOVES = 64;
+
+    private final boolean nullMovePruning;
+    private final int nullMoveMinDepth;
+    private final int nullMoveReduction;
+    private final boolean lateMoveReductions;
+    private final int lateMoveMinDepth;
+    private final int lateMoveMinMoves;
+    private final double lateMoveBase;
+    private final double lateMoveDivisor;
+    private final boolean futilityPruning;
+    private final int futilityMaxDepth;
+    private final int futilityMargin;
+    private final boolean razoring;
+    private final int razorMaxDepth;
+    private final int razorMargin;
+    private final boolean checkExtensions;
+    // the late move reduction by depth and move number
+    private final int[][] lateMoveReductionTable = new int[AbstractSearch.MAX_PLY + 1][MAX_MOVES];
+
+    private SearchConfig(final Builder builder) {
+        if (builder.nullMoveMinDepth < 1 || builder.nullMoveReduction < 0 || builder.lateMoveMinDepth < 1 ||
+                builder.lateMoveMinMoves < 1 || builder.lateMoveDivisor <= 0 || builder.futilityMargin < 0 ||
+                builder.razorMargin < 0) {
+            throw new IllegalArgumentException("Invalid search config: " + builder.nullMoveMinDepth + " " +
+                    builder.nullMoveReduction + " " + builder.lateMoveMinDepth + " " + builder.lateMoveMinMoves +
+                    " " + builder.lateMoveDivisor + " " + builder.futilityMargin + " " + builder.razorMargin);
+        }
+        this.nullMovePruning = builder.nullMovePruning;
+        this.nullMoveMinDepth = builder.nullMoveMinDepth;
+        this.nullMoveReduction = builder.nullMoveReduction;
+        this.lateMoveReductions = builder.lateMoveReductions;
+        this.lateMoveMinDepth = builder.lateMoveMinDepth;
+        this.lateMoveMinMoves = builder.lateMoveMinMoves;
+        this.lateMoveBase = builder.lateMoveBase;
+        this.lateMoveDivisor = builder.lateMoveDivisor;
+        this.futilityPruning = builder.futilityPruning;
+        this.futilityMaxDepth = builder.futilityMaxDepth;
+        this.futilityMargin = builder.futilityMargin;
+        this.razoring = builder.razoring;
+        this.razorMaxDepth = builder.razorMaxDepth;
+        this.razorMargin = builder.razorMargin;
+        this.checkExtensions = builder.checkExtensions;
+        for (int depth = 1; depth < this.lateMoveReductionTable.length; depth++) {
+            for (int moveNumber = 1; moveNumber < MAX_MOVES; moveNumber++) {
+                this.lateMoveReductionTable[depth][moveNumber] = Math.max(0,
+                        (int) (this.lateMoveBase + Math.log(depth) * Math.log(moveNumber) / this.lateMoveDivisor));
+            }
+        }
+    }
+
+    public boolean isNullMovePruning() {
+        return this.nullMovePruning;
+    }
+
+    public boolean isLateMoveReductions() {
+        return this.lateMoveReductions;
+    }
+
+    public boolean isFutilityPruning() {
+        return this.futilityPruning;
+    }
+
+    public boolean isRazoring() {
+        return this.razoring;
+    }
+
+    public boolean isCheckExtensions() {
+        return this.checkExtensions;
+    }
+
+    boolean allowsNullMove(final int depth) {
+        return this.nullMovePruning && depth >= this.nullMoveMinDepth;
+    }
+
+    // deeper nodes can afford to skip more of the tree behind the null move
+    int nullMoveReduction(final int depth) {
+        return this.nullMoveReduction + depth / 6;
+    }
+
+    // 0 where the move is searched at full depth. Principal variation nodes reduce a ply less
+    // and a reduced search never drops below the quiescence search
+    int lateMoveReduction(final int depth, final int moveNumber, final boolean pvNode) {
+        if (!this.lateMoveReductions || depth < this.lateMoveMinDepth || moveNumber <= this.lateMoveMinMoves) {
+            return 0;
+        }
+        final int reduction = this.lateMoveReductionTable[Math.min(depth, AbstractSearch.MAX_PLY)]
+                [Math.min(moveNumber, MAX_MOVES - 1)] - (pvNode ? 1 : 0);
+        return Math.max(0, Math.min(reduction, depth - 1));
+    }
+
+    // Integer.MAX_VALUE where futility pruning does not apply, so no evaluation is low enough
+    int futilityMargin(final int depth) {
+        return this.futilityPruning && depth <= this.futilityMaxDepth ? this.futilityMargin * depth : Integer.MAX_VALUE;
+    }
+
+    boolean allowsRazoring(final int depth) {
+        return this.razoring && depth <= this.razorMaxDepth;
+    }
+
+    int razorMargin(final int depth) {
+        return this.razorMargin * depth;
+    }
+
+    @Override
+    public String toString() {
+        return (this.nullMovePruning ? "null-move " : "") + (this.lateMoveReductions ? "lmr " : "") +
+                (this.futilityPruning ? "futility " : "") + (this.razoring ? "razoring " : "") +
+                (this.checkExtensions ? "check-extensions" : "");
+    }
+
+    public static class Builder {
+
+        boolean nullMovePruning = true;
+        int nullMoveMinDepth = 3;
+        int nullMoveReduction = 2;
+        boolean lateMoveReductions = true;
+        int lateMoveMinDepth = 3;
+        int lateMoveMinMoves = 3;
+        double lateMoveBase = 0.75;
+        double lateMoveDivisor = 2.25;
+        boolean futilityPruning = true;
+        int futilityMaxDepth = 3;
+        int futilityMargin = 150;
+        boolean razoring = true;
+        int razorMaxDepth = 2;
+        int razorMargin = 300;
+        boolean checkExtensions = true;
+
+        // every technique off, the full-width search the selective one is measured against
+        public Builder setFullWidth() {
+            this.nullMovePruning = false;
+            this.lateMoveReductions = false;
+            this.futilityPruning = false;
+            this.razoring = false;
+            this.checkExtensions = false;
+            return this;
+        }
+
+        public Builder setNullMovePruning(final boolean nullMovePruning) {
+            this.nullMovePruning = nullMovePruning;
+            return this;
+        }
+
+        public Builder setNullMoveMinDepth(final int nullMoveMinDepth) {
+            this.nullMoveMinDepth = nullMoveMinDepth;
+            return this;
+        }
+
+        public Builder setNullMoveReduction(final int nullMoveReduction) {
+            this.nullMoveReduction = nullMoveReduction;
+            return this;
+        }
+
+        public Builder setLateMoveReductions(final boolean lateMoveReductions) {
+            this.lateMoveReductions = lateMoveReductions;
+            return this;
+        }
+
+        public Builder setLateMoveMinDepth(final int lateMoveMinDepth) {
+            this.lateMoveMinDepth = lateMoveMinDepth;
+            return this;
+        }
+
+        public Builder setLateMoveMinMoves(final int lateMoveMinMoves) {
+            this.lateMoveMinMoves = lateMoveMinMoves;
+            return this;
+        }
+
+        public Builder setLateMoveBase(final double lateMoveBase) {
+            this.lateMoveBase = lateMoveBase;
+            return this;
+        }
+
+        public Builder setLateMoveDivisor(final double lateMoveDivisor) {
+            this.lateMoveDivisor = lateMoveDivisor;
+            return this;
+        }
+
+        public Builder setFutilityPruning(final boolean futilityPruning) {
+            this.futilityPruning = futilityPruning;
+            return this;
+        }
+
+        public Builder setFutilityMaxDepth(final int futilityMaxDepth) {
+            this.futilityMaxDepth = futilityMaxDepth;
+            return this;
+        }
+
+        public Builder setFutilityMargin(final int futilityMargin) {
+            this.futilityMargin = futilityMargin;
+            return this;
+        }
+
+        public Builder setRazoring(final boolean razoring) {
+            this.razoring = razoring;
+            return this;
+        }
+
+        public Builder setRazorMaxDepth(final int razorMaxDepth) {
+            this.razorMaxDepth = razorMaxDepth;
+            return this;
+        }
+
+        public Builder setRazorMargin(final int razorMargin) {
+            this.razorMargin = razorMargin;
+            return this;
+        }
+
+        public Builder setCheckExtensions(final boolean checkExtensions) {
+            this.checkExtensions = checkExtensions;
+            return this;
+        }
+
+        public SearchConfig build() {
+            return new SearchConfig(this);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.chessAI.engine;
+
+// When a search has to stop: at a depth, after a number of nodes or at a wall-clock
+// deadline, whichever comes first. Anything not set does not limit the search.
+public final class SearchLimits {
+
+    public static final int MAX_DEPTH = AbstractSearch.MAX_PLY;
+
+    private final int depth;
+    private final long nodes;
+    private final long moveTimeMillis;
+
+    private SearchLimits(final Builder builder) {
+        if (builder.depth < 1 || builder.nodes < 1 || builder.moveTimeMillis < 0) {
+            throw new IllegalArgumentException("Invalid search limits: depth " + builder.depth +
+                    " nodes " + builder.nodes + " move time " + builder.moveTimeMillis);
+        }
+        this.depth = Math.min(builder.depth, MAX_DEPTH);
+        this.nodes = builder.nodes;
+        this.moveTimeMillis = builder.moveTimeMillis;
+    }
+
+    public int getDepth() {
+        return this.depth;
+    }
+
+    public long getNodes() {
+        return this.nodes;
+    }
+
+    public long getMoveTimeMillis() {
+        return this.moveTimeMillis;
+    }
+
+    long calculateDeadline(final long startMillis) {
+        return this.moveTimeMillis == Long.MAX_VALUE ? Long.MAX_VALUE : startMillis + this.moveTimeMillis;
+    }
+
+    public static class Builder {
+
+        int depth = MAX_DEPTH;
+        long nodes = Long.MAX_VALUE;
+        long moveTimeMillis = Long.MAX_VALUE;
+
+        public Builder setDepth(final int depth) {
+            this.depth = depth;
+            return this;
+        }
+
+        public Builder setNodes(final long nodes) {
+            this.nodes = nodes;
+            return this;
+        }
+
+        public Builder setMoveTimeMillis(final long moveTimeMillis) {
+            this.moveTimeMillis = moveTimeMillis;
+            return this;
+        }
+
+        public SearchLimits build() {
+            return new SearchLimits(this);
+        }
+    }
+}
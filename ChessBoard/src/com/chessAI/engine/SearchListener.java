@@ -0,0 +1,7 @@
+package com.chessAI.engine;
+
+// Told about the best move and principal variation every time a depth completes.
+public interface SearchListener {
+
+    void depthCompleted(SearchResult result);
+}
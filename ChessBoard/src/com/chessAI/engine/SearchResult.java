@@ -0,0 +1,67 @@
+package com.chessAI.engine;
+
+import com.chessAI.board.MoveUtils;
+
+import java.util.Arrays;
+
+// What one completed depth of a search found. Moves are packed as in MoveUtils.
+public final class SearchResult {
+
+    private final int depth;
+    private final int score;
+    private final long nodes;
+    private final long elapsedMillis;
+    private final int[] principalVariation;
+
+    SearchResult(final int depth, final int score, final long nodes, final long elapsedMillis,
+                 final int[] principalVariation) {
+        this.depth = depth;
+        this.score = score;
+        this.nodes = nodes;
+        this.elapsedMillis = elapsedMillis;
+        this.principalVariation = principalVariation;
+    }
+
+    public int getBestMove() {
+        return this.principalVariation.length == 0 ? MoveUtils.NO_MOVE : this.principalVariation[0];
+    }
+
+    public int getDepth() {
+        return this.depth;
+    }
+
+    // centipawns from the side to move's point of view, mates are near +-AbstractSearch.MATE_SCORE
+    public int getScore() {
+        return this.score;
+    }
+
+    public boolean isMateScore() {
+        return Math.abs(this.score) >= AbstractSearch.MATE_BOUND;
+    }
+
+    public long getNodes() {
+        return this.nodes;
+    }
+
+    public long getElapsedMillis() {
+        return this.elapsedMillis;
+    }
+
+    public int[] getPrincipalVariation() {
+        return this.principalVariation.clone();
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder builder = new StringBuilder("depth ").append(this.depth);
+        if (isMateScore()) {
+            final int plies = AbstractSearch.MATE_SCORE - Math.abs(this.score);
+            builder.append(" score mate ").append(this.score > 0 ? (plies + 1) / 2 : -(plies + 1) / 2);
+        } else {
+            builder.append(" score cp ").append(this.score);
+        }
+        builder.append(" nodes ").append(this.nodes).append(" time ").append(this.elapsedMillis).append(" pv");
+        Arrays.stream(this.principalVariation).forEach(move -> builder.append(' ').append(MoveUtils.toString(move)));
+        return builder.toString();
+    }
+}
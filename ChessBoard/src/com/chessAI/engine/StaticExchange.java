@@ -0,0 +1,81 @@
+package com.chessAI.engine;
+
+import com.chessAI.Alliance;
+import com.chessAI.board.BitBoard;
+import com.chessAI.board.MoveUtils;
+import com.chessAI.board.Position;
+import com.chessAI.piece.Piece.PieceType;
+
+// Static exchange evaluation: the material a capture wins or loses once both sides
+// have recaptured on its square with their least valuable attacker for as long as
+// that pays. The attackers of the square are recomputed from the occupancy after
+// every capture, so sliders lined up behind one another join in turn.
+final class StaticExchange {
+
+    private static final PieceType[] PIECE_TYPES = PieceType.values();
+    // more captures on one square than there are pieces cannot happen
+    static final int MAX_EXCHANGES = 32;
+
+    private StaticExchange() {
+        throw new RuntimeException("Not Instantiable");
+    }
+
+    // gains is scratch space of MAX_EXCHANGES entries, owned by the calling search
+    static int evaluate(final Position position, final int move, final int[] gains) {
+        final int from = MoveUtils.getFrom(move);
+        final int to = MoveUtils.getTo(move);
+
+        long occupied = position.getOccupancy() ^ BitBoard.squareBit(from);
+        if (MoveUtils.isEnPassant(move)) {
+            occupied ^= BitBoard.squareBit(to - 8 * position.getSideToMove().getDirection());
+        }
+        final PieceType capturedType = MoveUtils.getCapturedType(move);
+        gains[0] = capturedType == null ? 0 : capturedType.getPieceValue();
+        int victimValue = MoveUtils.getMovedType(move).getPieceValue();
+        if (MoveUtils.isPromotion(move)) {
+            final int promotionValue = MoveUtils.getPromotionType(move).getPieceValue();
+            gains[0] += promotionValue - PieceType.PAWN.getPieceValue();
+            victimValue = promotionValue;
+        }
+
+        Alliance side = Position.opponent(position.getSideToMove());
+        int depth = 0;
+        while (depth + 1 < MAX_EXCHANGES) {
+            final long attackers = position.attackersTo(to, occupied) & occupied;
+            final long sideAttackers = attackers & position.getOccupancy(side);
+            if (sideAttackers == 0) {
+                break;
+            }
+            final PieceType attackerType = leastValuableType(position, side, sideAttackers);
+            // the king may only take last, when nothing can take it back
+            if (attackerType == PieceType.KING && (attackers & position.getOccupancy(Position.opponent(side))) != 0) {
+                break;
+            }
+            depth++;
+            gains[depth] = victimValue - gains[depth - 1];
+            if (Math.max(-gains[depth - 1], gains[depth]) < 0) {
+                // taking here cannot pay whatever follows, so the exchange ends one capture earlier
+                depth--;
+                break;
+            }
+            occupied ^= Long.lowestOneBit(sideAttackers & position.getPieces(side, attackerType));
+            victimValue = attackerType.getPieceValue();
+            side = Position.opponent(side);
+        }
+        // each side only takes when taking is better than standing pat
+        while (depth > 0) {
+            gains[depth - 1] = -Math.max(-gains[depth - 1], gains[depth]);
+            depth--;
+        }
+        return gains[0];
+    }
+
+    private static PieceType leastValuableType(final Position position, final Alliance side, final long attackers) {
+        for (final PieceType pieceType : PIECE_TYPES) {
+            if ((attackers & position.getPieces(side, pieceType)) != 0) {
+                return pieceType;
+            }
+        }
+        throw new RuntimeException("No attacker of " + side);
+    }
+}
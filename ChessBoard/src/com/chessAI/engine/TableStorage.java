@@ -0,0 +1,22 @@
+package com.chessAI.engine;
+
+// Flat array of longs behind a TranspositionTable. Reads and writes are plain,
+// the table itself detects entries torn by concurrent writers.
+public interface TableStorage {
+
+    long get(long index);
+
+    void set(long index, long value);
+
+    long size();
+
+    void clear();
+
+    static TableStorage onHeap(final long size) {
+        return new ArrayTableStorage(size);
+    }
+
+    static TableStorage offHeap(final long size) {
+        return new OffHeapTableStorage(size);
+    }
+}
@@ -0,0 +1,216 @@
+package com.chessAI.engine;
+
+import com.chessAI.board.MoveUtils;
+
+// Fixed-size hash table of search results keyed by Zobrist hash. An entry is two
+// longs, the key XOR-ed with the data and the data itself, so an entry torn by two
+// threads writing at once no longer verifies and reads as a miss. No locks are
+// taken, every search thread shares one table.
+//
+// data layout: bits 0-23 move, 24-39 score, 40-47 depth, 48-49 bound, 50-55 age.
+// A stored entry never has bound 0, so 0 doubles as NO_ENTRY.
+public final class TranspositionTable {
+
+    public static final long NO_ENTRY = 0L;
+
+    public static final int MIN_SCORE = Short.MIN_VALUE;
+    public static final int MAX_SCORE = Short.MAX_VALUE;
+    public static final int MAX_DEPTH = 0xFF;
+
+    private static final int ENTRY_LONGS = 2;
+    private static final int ENTRY_BYTES = ENTRY_LONGS * Long.BYTES;
+
+    private static final int SCORE_SHIFT = MoveUtils.MOVE_BITS;
+    private static final int DEPTH_SHIFT = SCORE_SHIFT + 16;
+    private static final int BOUND_SHIFT = DEPTH_SHIFT + 8;
+    private static final int AGE_SHIFT = BOUND_SHIFT + 2;
+    private static final int AGE_MASK = 0x3F;
+
+    private static final Bound[] BOUNDS = Bound.values();
+
+    public enum Bound {
+        EXACT,
+        LOWER,
+        UPPER
+    }
+
+    private final TableStorage storage;
+    private final ReplacementScheme replacementScheme;
+    private final int bucketSize;
+    private final long bucketMask;
+    private final int sizeInMegabytes;
+    private volatile int age;
+
+    private TranspositionTable(final Builder builder) {
+        if (Integer.bitCount(builder.bucketSize) != 1) {
+            throw new IllegalArgumentException("Bucket size must be a power of two: " + builder.bucketSize);
+        }
+        final long bucketBytes = (long) builder.bucketSize * ENTRY_BYTES;
+        final long requestedBuckets = (long) builder.sizeInMegabytes * 1024 * 1024 / bucketBytes;
+        if (requestedBuckets < 1) {
+            throw new IllegalArgumentException("Table too small: " + builder.sizeInMegabytes + "MB");
+        }
+        // a power of two bucket count lets the low key bits pick the bucket
+        final long bucketCount = Long.highestOneBit(requestedBuckets);
+        final long size = bucketCount * builder.bucketSize * ENTRY_LONGS;
+        this.storage = builder.offHeap ? TableStorage.offHeap(size) : TableStorage.onHeap(size);
+        this.replacementScheme = builder.replacementScheme;
+        this.bucketSize = builder.bucketSize;
+        this.bucketMask = bucketCount - 1;
+        this.sizeInMegabytes = builder.sizeInMegabytes;
+    }
+
+    public long probe(final long key) {
+        final long first = bucketIndex(key);
+        for (int slot = 0; slot < this.bucketSize; slot++) {
+            final long index = first + (long) slot * ENTRY_LONGS;
+            final long data = this.storage.get(index + 1);
+            if ((this.storage.get(index) ^ data) == key && data != NO_ENTRY) {
+                return data;
+            }
+        }
+        return NO_ENTRY;
+    }
+
+    public void store(final long key, final int move, final int score, final int depth, final Bound bound) {
+        final long first = bucketIndex(key);
+        final int currentAge = this.age;
+        long target = first;
+        int lowestValue = Integer.MAX_VALUE;
+        for (int slot = 0; slot < this.bucketSize; slot++) {
+            final long index = first + (long) slot * ENTRY_LONGS;
+            final long data = this.storage.get(index + 1);
+            if (data == NO_ENTRY) {
+                write(index, key, pack(move, score, depth, bound, currentAge));
+                return;
+            }
+            if ((this.storage.get(index) ^ data) == key) {
+                // same position: keep the old best move if this search found none
+                final int bestMove = move == MoveUtils.NO_MOVE ? getMove(data) : move;
+                if (isMoreValuable(data, depth, bound, currentAge)) {
+                    // a shallower result does not replace a deeper one, the entry only stays current
+                    write(index, key, pack(bestMove, getScore(data), getDepth(data), getBound(data), currentAge));
+                } else {
+                    write(index, key, pack(bestMove, score, depth, bound, currentAge));
+                }
+                return;
+            }
+            final int value = this.replacementScheme.replacementValue(getDepth(data),
+                    (currentAge - getAge(data)) & AGE_MASK);
+            if (value < lowestValue) {
+                lowestValue = value;
+                target = index;
+            }
+        }
+        write(target, key, pack(move, score, depth, bound, currentAge));
+    }
+
+    // a deeper entry of this search, or a deeper exact score of any search, beats a new result
+    private static boolean isMoreValuable(final long data, final int depth, final Bound bound, final int currentAge) {
+        return getDepth(data) > depth &&
+                (getAge(data) == currentAge || (getBound(data) == Bound.EXACT && bound != Bound.EXACT));
+    }
+
+    // called once per search so entries of earlier searches can be told apart
+    public void newSearch() {
+        this.age = (this.age + 1) & AGE_MASK;
+    }
+
+    public void clear() {
+        this.storage.clear();
+        this.age = 0;
+    }
+
+    // permille of the first thousand entries written during the current search
+    public int getHashFull() {
+        final long entries = Math.min(1000, this.storage.size() / ENTRY_LONGS);
+        int used = 0;
+        for (long i = 0; i < entries; i++) {
+            final long data = this.storage.get(i * ENTRY_LONGS + 1);
+            if (data != NO_ENTRY && getAge(data) == this.age) {
+                used++;
+            }
+        }
+        return (int) (used * 1000 / entries);
+    }
+
+    public int getSizeInMegabytes() {
+        return this.sizeInMegabytes;
+    }
+
+    public long getEntryCount() {
+        return this.storage.size() / ENTRY_LONGS;
+    }
+
+    public static int getMove(final long data) {
+        return (int) (data & ((1L << MoveUtils.MOVE_BITS) - 1));
+    }
+
+    public static int getScore(final long data) {
+        return (short) (data >>> SCORE_SHIFT);
+    }
+
+    public static int getDepth(final long data) {
+        return (int) (data >>> DEPTH_SHIFT) & MAX_DEPTH;
+    }
+
+    public static Bound getBound(final long data) {
+        return BOUNDS[((int) (data >>> BOUND_SHIFT) & 3) - 1];
+    }
+
+    static int getAge(final long data) {
+        return (int) (data >>> AGE_SHIFT) & AGE_MASK;
+    }
+
+    private long bucketIndex(final long key) {
+        return (key & this.bucketMask) * this.bucketSize * ENTRY_LONGS;
+    }
+
+    private void write(final long index, final long key, final long data) {
+        this.storage.set(index, key ^ data);
+        this.storage.set(index + 1, data);
+    }
+
+    private static long pack(final int move, final int score, final int depth, final Bound bound, final int age) {
+        if (score < MIN_SCORE || score > MAX_SCORE) {
+            throw new IllegalArgumentException("Score does not fit a table entry: " + score);
+        }
+        return (move & ((1L << MoveUtils.MOVE_BITS) - 1))
+                | ((score & 0xFFFFL) << SCORE_SHIFT)
+                | ((long) Math.max(0, Math.min(MAX_DEPTH, depth)) << DEPTH_SHIFT)
+                | ((long) (bound.ordinal() + 1) << BOUND_SHIFT)
+                | ((long) age << AGE_SHIFT);
+    }
+
+    public static class Builder {
+
+        int sizeInMegabytes = 16;
+        int bucketSize = 4;
+        boolean offHeap;
+        ReplacementScheme replacementScheme = ReplacementScheme.AGE_THEN_DEPTH;
+
+        public Builder setSizeInMegabytes(final int sizeInMegabytes) {
+            this.sizeInMegabytes = sizeInMegabytes;
+            return this;
+        }
+
+        public Builder setBucketSize(final int bucketSize) {
+            this.bucketSize = bucketSize;
+            return this;
+        }
+
+        public Builder setOffHeap(final boolean offHeap) {
+            this.offHeap = offHeap;
+            return this;
+        }
+
+        public Builder setReplacementScheme(final ReplacementScheme replacementScheme) {
+            this.replacementScheme = replacementScheme;
+            return this;
+        }
+
+        public TranspositionTable build() {
+            return new TranspositionTable(this);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.chessAI.perft;
+
+import com.chessAI.board.Board;
+import com.chessAI.board.Move;
+import com.chessAI.board.MoveUtils;
+import com.chessAI.player.MoveTransition;
+import com.chessAI.player.Player;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Perft over Board and Move, the code the GUI plays with. Every inner node builds
+// the next board through Player.makeMove, the last ply is only counted.
+public final class BoardPerft implements PerftBackend {
+
+    private final Board board;
+
+    public BoardPerft(final Board board) {
+        this.board = board;
+    }
+
+    @Override
+    public String getName() {
+        return "board";
+    }
+
+    @Override
+    public long perft(final int depth) {
+        return perft(this.board, depth);
+    }
+
+    @Override
+    public Map<String, Long> divide(final int depth) {
+        final Map<String, Long> divide = new LinkedHashMap<>();
+        final Player player = this.board.currentPlayer();
+        for (final Move move : player.getLegalMoves()) {
+            final MoveTransition transition = player.makeMove(move);
+            if (transition.getMoveStatus().isDone()) {
+                divide.put(MoveUtils.toString(MoveUtils.fromMove(move)), perft(transition.getTransistionBoard(), depth - 1));
+            }
+        }
+        return divide;
+    }
+
+    private static long perft(final Board board, final int depth) {
+        if (depth == 0) {
+            return 1;
+        }
+        final Player player = board.currentPlayer();
+        if (depth == 1) {
+            return player.countLegalMoves();
+        }
+        long nodes = 0;
+        for (final Move move : player.getLegalMoves()) {
+            final MoveTransition transition = player.makeMove(move);
+            if (transition.getMoveStatus().isDone()) {
+                nodes += perft(transition.getTransistionBoard(), depth - 1);
+            }
+        }
+        return nodes;
+    }
+}
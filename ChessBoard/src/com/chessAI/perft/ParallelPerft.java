@@ -0,0 +1,271 @@
+package com.chessAI.perft;
+
+import com.chessAI.board.Board;
+import com.chessAI.board.Move;
+import com.chessAI.board.MoveGenerator;
+import com.chessAI.board.MoveList;
+import com.chessAI.board.MoveUtils;
+import com.chessAI.board.Position;
+import com.chessAI.player.MoveTransition;
+import com.chessAI.player.Player;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+// Perft split into a ForkJoinPool task per move for the first splitPlies plies, so
+// idle workers steal whole subtrees. Below that each task counts sequentially. All
+// tasks share one PerftCache, transpositions reached by different threads are
+// counted once. Runs on Board/Move or on a Position copied per task.
+public final class ParallelPerft implements PerftBackend {
+
+    public static final int DEFAULT_SPLIT_PLIES = 2;
+
+    // shallower subtrees are cheaper to count again than to look up
+    private static final int MIN_CACHED_DEPTH = 2;
+    // one move list per remaining depth for the sequential perft of each worker thread
+    private static final ThreadLocal<MoveList[]> MOVE_LISTS = ThreadLocal.withInitial(() -> new MoveList[0]);
+
+    private final Board board;
+    private final boolean usePosition;
+    private final ForkJoinPool pool;
+    private final PerftCache cache;
+    private final int splitPlies;
+
+    public ParallelPerft(final Board board, final boolean usePosition, final ForkJoinPool pool,
+                         final PerftCache cache, final int splitPlies) {
+        this.board = board;
+        this.usePosition = usePosition;
+        this.pool = pool;
+        this.cache = cache;
+        this.splitPlies = splitPlies;
+    }
+
+    @Override
+    public String getName() {
+        return (this.usePosition ? "position" : "board") + "-parallel(" + this.pool.getParallelism() + ")";
+    }
+
+    @Override
+    public long perft(final int depth) {
+        return this.pool.invoke(createTask(depth));
+    }
+
+    @Override
+    public Map<String, Long> divide(final int depth) {
+        final Map<String, Long> divide = new LinkedHashMap<>();
+        if (this.usePosition) {
+            final Position root = new Position(this.board);
+            final MoveList moves = new MoveList();
+            MoveGenerator.generateLegalMoves(root, moves);
+            final List<PositionTask> tasks = new ArrayList<>();
+            for (int i = 0; i < moves.size(); i++) {
+                final Position child = new Position(root);
+                child.makeMove(moves.get(i));
+                tasks.add(new PositionTask(child, depth - 1, 1));
+            }
+            this.pool.invoke(new JoinTask<>(tasks));
+            for (int i = 0; i < moves.size(); i++) {
+                divide.put(MoveUtils.toString(moves.get(i)), tasks.get(i).join());
+            }
+            return divide;
+        }
+        final List<String> names = new ArrayList<>();
+        final List<BoardTask> tasks = new ArrayList<>();
+        final Player player = this.board.currentPlayer();
+        for (final Move move : player.getLegalMoves()) {
+            final MoveTransition transition = player.makeMove(move);
+            if (transition.getMoveStatus().isDone()) {
+                names.add(MoveUtils.toString(MoveUtils.fromMove(move)));
+                tasks.add(new BoardTask(transition.getTransistionBoard(), depth - 1, 1));
+            }
+        }
+        this.pool.invoke(new JoinTask<>(tasks));
+        for (int i = 0; i < tasks.size(); i++) {
+            divide.put(names.get(i), tasks.get(i).join());
+        }
+        return divide;
+    }
+
+    private RecursiveTask<Long> createTask(final int depth) {
+        return this.usePosition ? new PositionTask(new Position(this.board), depth, 0) : new BoardTask(this.board, depth, 0);
+    }
+
+    private long probe(final long hash, final int depth) {
+        return this.cache != null && depth >= MIN_CACHED_DEPTH ? this.cache.get(hash, depth) : PerftCache.MISS;
+    }
+
+    private void record(final long hash, final int depth, final long nodes) {
+        if (this.cache != null && depth >= MIN_CACHED_DEPTH) {
+            this.cache.put(hash, depth, nodes);
+        }
+    }
+
+    private static long sum(final List<? extends ForkJoinTask<Long>> tasks) {
+        ForkJoinTask.invokeAll(tasks);
+        long nodes = 0;
+        for (final ForkJoinTask<Long> task : tasks) {
+            nodes += task.join();
+        }
+        return nodes;
+    }
+
+    private final class BoardTask extends RecursiveTask<Long> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Board board;
+        private final int depth;
+        private final int ply;
+
+        BoardTask(final Board board, final int depth, final int ply) {
+            this.board = board;
+            this.depth = depth;
+            this.ply = ply;
+        }
+
+        @Override
+        protected Long compute() {
+            if (this.ply >= splitPlies || this.depth <= MIN_CACHED_DEPTH) {
+                return perft(this.board, this.depth);
+            }
+            final long cached = probe(this.board.getZobristHash(), this.depth);
+            if (cached != PerftCache.MISS) {
+                return cached;
+            }
+            final List<BoardTask> tasks = new ArrayList<>();
+            final Player player = this.board.currentPlayer();
+            for (final Move move : player.getLegalMoves()) {
+                final MoveTransition transition = player.makeMove(move);
+                if (transition.getMoveStatus().isDone()) {
+                    tasks.add(new BoardTask(transition.getTransistionBoard(), this.depth - 1, this.ply + 1));
+                }
+            }
+            final long nodes = sum(tasks);
+            record(this.board.getZobristHash(), this.depth, nodes);
+            return nodes;
+        }
+
+        private long perft(final Board board, final int depth) {
+            if (depth == 0) {
+                return 1;
+            }
+            final Player player = board.currentPlayer();
+            if (depth == 1) {
+                return player.countLegalMoves();
+            }
+            final long cached = probe(board.getZobristHash(), depth);
+            if (cached != PerftCache.MISS) {
+                return cached;
+            }
+            long nodes = 0;
+            for (final Move move : player.getLegalMoves()) {
+                final MoveTransition transition = player.makeMove(move);
+                if (transition.getMoveStatus().isDone()) {
+                    nodes += perft(transition.getTransistionBoard(), depth - 1);
+                }
+            }
+            record(board.getZobristHash(), depth, nodes);
+            return nodes;
+        }
+    }
+
+    private final class PositionTask extends RecursiveTask<Long> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Position position;
+        private final int depth;
+        private final int ply;
+
+        PositionTask(final Position position, final int depth, final int ply) {
+            this.position = position;
+            this.depth = depth;
+            this.ply = ply;
+        }
+
+        @Override
+        protected Long compute() {
+            if (this.ply >= splitPlies || this.depth <= MIN_CACHED_DEPTH) {
+                // nothing is forked below here, so the thread's lists cannot be in use by another task
+                return perft(moveLists(this.depth), this.depth);
+            }
+            final long cached = probe(this.position.getZobristHash(), this.depth);
+            if (cached != PerftCache.MISS) {
+                return cached;
+            }
+            // the children may run on this thread while the list is still needed
+            final MoveList moves = new MoveList();
+            MoveGenerator.generateLegalMoves(this.position, moves);
+            final List<PositionTask> tasks = new ArrayList<>();
+            for (int i = 0; i < moves.size(); i++) {
+                final Position child = new Position(this.position);
+                child.makeMove(moves.get(i));
+                tasks.add(new PositionTask(child, this.depth - 1, this.ply + 1));
+            }
+            final long nodes = sum(tasks);
+            record(this.position.getZobristHash(), this.depth, nodes);
+            return nodes;
+        }
+
+        private long perft(final MoveList[] moveLists, final int depth) {
+            if (depth == 0) {
+                return 1;
+            }
+            final long hash = this.position.getZobristHash();
+            final long cached = probe(hash, depth);
+            if (cached != PerftCache.MISS) {
+                return cached;
+            }
+            final MoveList moves = moveLists[depth - 1];
+            moves.clear();
+            MoveGenerator.generateLegalMoves(this.position, moves);
+            if (depth == 1) {
+                return moves.size();
+            }
+            long nodes = 0;
+            for (int i = 0; i < moves.size(); i++) {
+                this.position.makeMove(moves.get(i));
+                nodes += perft(moveLists, depth - 1);
+                this.position.unmakeMove();
+            }
+            record(hash, depth, nodes);
+            return nodes;
+        }
+    }
+
+    private static MoveList[] moveLists(final int depth) {
+        MoveList[] moveLists = MOVE_LISTS.get();
+        if (moveLists.length < depth) {
+            final int size = moveLists.length;
+            moveLists = Arrays.copyOf(moveLists, depth);
+            for (int i = size; i < depth; i++) {
+                moveLists[i] = new MoveList();
+            }
+            MOVE_LISTS.set(moveLists);
+        }
+        return moveLists;
+    }
+
+    // runs the given tasks in the pool so their results can be read after invoke returns
+    private static final class JoinTask<T extends ForkJoinTask<Long>> extends RecursiveTask<Long> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final List<T> tasks;
+
+        JoinTask(final List<T> tasks) {
+            this.tasks = tasks;
+        }
+
+        @Override
+        protected Long compute() {
+            return sum(this.tasks);
+        }
+    }
+}
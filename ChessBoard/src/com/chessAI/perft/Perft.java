@@ -0,0 +1,113 @@
+package com.chessAI.perft;
+
+import com.chessAI.board.Board;
+import com.chessAI.board.FenUtilities;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+// Command line perft:
+//   Perft <board|position> <depth> [fen]         nodes, time and nodes per second for depths 1..depth
+//   Perft <board|position> divide <depth> [fen]  leaf count below each root move
+//   Perft <board|position> suite <maxDepth>      checks every PerftPosition up to maxDepth
+// board-parallel and position-parallel run the same counts on all cores with a shared cache.
+public final class Perft {
+
+    private static final int PARALLEL_CACHE_MEGABYTES = 64;
+
+    private Perft() {
+        throw new RuntimeException("Not Instantiable");
+    }
+
+    public static void main(final String[] args) {
+        if (args.length < 2) {
+            System.out.println("usage: Perft <board|position|board-parallel|position-parallel> [divide|suite] <depth> [fen]");
+            return;
+        }
+        final String backend = args[0];
+        switch (args[1]) {
+            case "suite":
+                if (!runSuite(backend, Integer.parseInt(args[2]))) {
+                    System.exit(1);
+                }
+                break;
+            case "divide":
+                divide(createBackend(backend, createBoard(args, 3)), Integer.parseInt(args[2]));
+                break;
+            default:
+                final PerftBackend perftBackend = createBackend(backend, createBoard(args, 2));
+                for (int depth = 1; depth <= Integer.parseInt(args[1]); depth++) {
+                    report(perftBackend, depth, -1);
+                }
+        }
+    }
+
+    public static PerftBackend createBackend(final String name, final Board board) {
+        switch (name) {
+            case "board":
+                return new BoardPerft(board);
+            case "position":
+                return new PositionPerft(board);
+            case "board-parallel":
+                return new ParallelPerft(board, false, ForkJoinPool.commonPool(),
+                        new PerftCache(PARALLEL_CACHE_MEGABYTES), ParallelPerft.DEFAULT_SPLIT_PLIES);
+            case "position-parallel":
+                return new ParallelPerft(board, true, ForkJoinPool.commonPool(),
+                        new PerftCache(PARALLEL_CACHE_MEGABYTES), ParallelPerft.DEFAULT_SPLIT_PLIES);
+            default:
+                throw new IllegalArgumentException("Unknown perft backend: " + name);
+        }
+    }
+
+    public static boolean runSuite(final String backend, final int maxDepth) {
+        boolean passed = true;
+        for (final PerftPosition perftPosition : PerftPosition.values()) {
+            System.out.println(perftPosition + " " + perftPosition.getFen());
+            final PerftBackend perftBackend = createBackend(backend, perftPosition.createBoard());
+            for (int depth = 1; depth <= Math.min(maxDepth, perftPosition.getMaxDepth()); depth++) {
+                passed &= report(perftBackend, depth, perftPosition.getNodeCount(depth));
+            }
+        }
+        System.out.println(passed ? "all positions passed" : "FAILED");
+        return passed;
+    }
+
+    public static long divide(final PerftBackend backend, final int depth) {
+        final long start = System.nanoTime();
+        final Map<String, Long> divide = backend.divide(depth);
+        final long elapsed = System.nanoTime() - start;
+        long nodes = 0;
+        for (final Map.Entry<String, Long> entry : divide.entrySet()) {
+            System.out.println(entry.getKey() + ": " + entry.getValue());
+            nodes += entry.getValue();
+        }
+        System.out.println();
+        System.out.println("moves " + divide.size() + " nodes " + nodes + formatSpeed(nodes, elapsed));
+        return nodes;
+    }
+
+    // prints one line for the depth and returns false if it does not match the expected count,
+    // a negative expected count is not checked
+    private static boolean report(final PerftBackend backend, final int depth, final long expected) {
+        final long start = System.nanoTime();
+        final long nodes = backend.perft(depth);
+        final long elapsed = System.nanoTime() - start;
+        final boolean matches = expected < 0 || nodes == expected;
+        System.out.println(String.format("%s depth %d nodes %d", backend.getName(), depth, nodes)
+                + formatSpeed(nodes, elapsed) + (matches ? "" : " expected " + expected));
+        return matches;
+    }
+
+    private static String formatSpeed(final long nodes, final long elapsedNanos) {
+        final long millis = TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+        final long nodesPerSecond = elapsedNanos == 0 ? 0 : (long) (nodes * 1e9 / elapsedNanos);
+        return String.format(" time %dms nps %d", millis, nodesPerSecond);
+    }
+
+    private static Board createBoard(final String[] args, final int fenIndex) {
+        return args.length > fenIndex ? FenUtilities.createGameFromFEN(String.join(" ",
+                Arrays.copyOfRange(args, fenIndex, args.length))) : Board.createStandardBoard();
+    }
+}
@@ -0,0 +1,14 @@
+package com.chessAI.perft;
+
+import java.util.Map;
+
+// Counts the leaf nodes of the legal move tree below one root position.
+public interface PerftBackend {
+
+    String getName();
+
+    long perft(int depth);
+
+    // leaf count below each legal root move, keyed by the move in coordinate notation
+    Map<String, Long> divide(int depth);
+}
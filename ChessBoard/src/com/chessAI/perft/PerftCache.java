@@ -0,0 +1,40 @@
+package com.chessAI.perft;
+
+import com.chessAI.engine.TableStorage;
+
+// Subtree node counts keyed by Zobrist hash and remaining depth, shared by all perft
+// threads without locks. Like the transposition table an entry is stored as
+// (key ^ count, count), so a torn entry simply reads as a miss. Always replaces.
+public final class PerftCache {
+
+    public static final long MISS = -1L;
+
+    private static final long DEPTH_MULTIPLIER = 0x9E3779B97F4A7C15L;
+
+    private final TableStorage storage;
+    private final long entryMask;
+
+    public PerftCache(final int sizeInMegabytes) {
+        final long entries = Long.highestOneBit(Math.max(1L, (long) sizeInMegabytes * 1024 * 1024 / (2 * Long.BYTES)));
+        this.storage = TableStorage.onHeap(2 * entries);
+        this.entryMask = entries - 1;
+    }
+
+    public long get(final long hash, final int depth) {
+        final long key = key(hash, depth);
+        final long index = (key & this.entryMask) * 2;
+        final long nodes = this.storage.get(index + 1);
+        return nodes != 0 && (this.storage.get(index) ^ nodes) == key ? nodes : MISS;
+    }
+
+    public void put(final long hash, final int depth, final long nodes) {
+        final long key = key(hash, depth);
+        final long index = (key & this.entryMask) * 2;
+        this.storage.set(index, key ^ nodes);
+        this.storage.set(index + 1, nodes);
+    }
+
+    private static long key(final long hash, final int depth) {
+        return hash ^ (depth * DEPTH_MULTIPLIER);
+    }
+}
@@ -0,0 +1,75 @@
+package com.chessAI.perft;
+
+import com.chessAI.board.Board;
+import com.chessAI.board.MoveGenerator;
+import com.chessAI.board.MoveList;
+import com.chessAI.board.MoveUtils;
+import com.chessAI.board.Position;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Perft over Position with make/unmake and the legal move generator. One move
+// list per ply is reused, and the last ply is just the size of its list.
+public final class PositionPerft implements PerftBackend {
+
+    private final Position position;
+    private MoveList[] moveLists = new MoveList[0];
+
+    public PositionPerft(final Board board) {
+        this.position = new Position(board);
+    }
+
+    @Override
+    public String getName() {
+        return "position";
+    }
+
+    @Override
+    public long perft(final int depth) {
+        ensureMoveLists(depth);
+        return perft(depth, 0);
+    }
+
+    @Override
+    public Map<String, Long> divide(final int depth) {
+        ensureMoveLists(depth);
+        final Map<String, Long> divide = new LinkedHashMap<>();
+        final MoveList moves = new MoveList();
+        MoveGenerator.generateLegalMoves(this.position, moves);
+        for (int i = 0; i < moves.size(); i++) {
+            this.position.makeMove(moves.get(i));
+            divide.put(MoveUtils.toString(moves.get(i)), perft(depth - 1, 0));
+            this.position.unmakeMove();
+        }
+        return divide;
+    }
+
+    private long perft(final int depth, final int ply) {
+        if (depth == 0) {
+            return 1;
+        }
+        final MoveList moves = this.moveLists[ply];
+        moves.clear();
+        MoveGenerator.generateLegalMoves(this.position, moves);
+        if (depth == 1) {
+            return moves.size();
+        }
+        long nodes = 0;
+        for (int i = 0; i < moves.size(); i++) {
+            this.position.makeMove(moves.get(i));
+            nodes += perft(depth - 1, ply + 1);
+            this.position.unmakeMove();
+        }
+        return nodes;
+    }
+
+    private void ensureMoveLists(final int depth) {
+        if (this.moveLists.length < depth) {
+            this.moveLists = new MoveList[depth];
+            for (int i = 0; i < depth; i++) {
+                this.moveLists[i] = new MoveList();
+            }
+        }
+    }
+}
@@ -4,19 +4,11 @@ import com.chessAI.Alliance;
 import com.chessAI.board.Board;
 import com.chessAI.board.BoardUtils;
 import com.chessAI.board.Move;
-import com.chessAI.board.Tile;
-import com.google.common.collect.ImmutableList;
 
-import java.util.ArrayList;
 import java.util.Collection;
-import java.util.List;
-
-import static com.chessAI.board.Move.*;
 
 public class King extends Piece {
 
-    private final static int[] CANDIDATE_MOVE_COORDINATE = {-9, -8, -7, -1, 1, 7, 8, 9};
-
     public King(Alliance pieceAlliance, int piecePosition) {
         super(PieceType.KING, piecePosition, pieceAlliance, true);
     }
@@ -26,56 +18,17 @@ public class King extends Piece {
     }
 
     @Override
-    public Collection<Move> calculateLegalMoves(Board board) {
-
-        final List<Move> legalMoves = new ArrayList<>();
-
-        for (final int currentCandidateOffset : CANDIDATE_MOVE_COORDINATE ){
-            final int candidateDestinationCoordinate = this.piecePosition + currentCandidateOffset;
-
-            if(BoardUtils.isValidTileCoordinate(candidateDestinationCoordinate)){
-                final Tile candidateDestinationTile = board.getTile(candidateDestinationCoordinate);
-
-                    if(isFirstColumnExclusion(this.piecePosition, currentCandidateOffset)
-                            || isEighthColumnExclusion(this.piecePosition, currentCandidateOffset)){
-                        continue;
-                    }
-                     if(!candidateDestinationTile.isTileOccupied()){
-                        legalMoves.add(new MajorMove(board, this, candidateDestinationCoordinate));
-                    }else{
-                        final Piece pieceAtDestination = candidateDestinationTile.getPiece();
-                        final Alliance pieceAlliance = pieceAtDestination.getPieceAlliance();
-                        if (this.pieceAlliance != pieceAlliance){
-                            legalMoves.add(new MajorAttackMove(board, this, candidateDestinationCoordinate, pieceAtDestination));
-                        }
-                    }
-            }
-
-        }
-
-        return ImmutableList.copyOf(legalMoves);
+    public Collection<Move> calculateLegalMoves(final Board board) {
+        return calculateMovesFromAttacks(board, BoardUtils.KING_ATTACKS[this.piecePosition]);
     }
 
     @Override
     public King movePiece(final Move move) {
-        return new King(move.getMovePiece().getPieceAlliance(), move.getDestinationCoordinate());
+        return PieceUtils.getKing(move.getMovePiece().getPieceAlliance(), move.getDestinationCoordinate(), false);
     }
 
     @Override
     public String toString(){
         return PieceType.KING.toString();
     }
-
-    private static boolean isFirstColumnExclusion(final int currentPosition, final int candidateOffset){
-
-        return BoardUtils.FIRST_COLUMN[currentPosition] && ((candidateOffset == -9) || (candidateOffset == -1)
-                || (candidateOffset == 7) );
-    }
-
-    private static boolean isEighthColumnExclusion(final int currentPosition, final int candidateOffset){
-
-        return BoardUtils.EIGHTH_COLUMN[currentPosition] && ((candidateOffset == -7) || (candidateOffset == 1) ||
-                (candidateOffset == 9));
-
-    }
 }
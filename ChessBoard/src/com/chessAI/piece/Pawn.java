@@ -1,6 +1,7 @@
 package com.chessAI.piece;
 
 import com.chessAI.Alliance;
+import com.chessAI.board.BitBoard;
 import com.chessAI.board.Board;
 import com.chessAI.board.Move;
 import com.chessAI.board.Move.PawnAttackMove;
@@ -17,8 +18,6 @@ import static com.chessAI.board.Move.*;
 
 public class Pawn extends Piece {
 
-    private final static int[] CANDIDATE_MOVE_COORDINATE = {8, 16, 7, 9};
-
     public Pawn(Alliance pieceAlliance, int piecePosition) {
         super(PieceType.PAWN, piecePosition, pieceAlliance, true);
     }
@@ -29,80 +28,60 @@ public class Pawn extends Piece {
 
 
     @Override
-    public Collection<Move> calculateLegalMoves(Board board) {
+    public Collection<Move> calculateLegalMoves(final Board board) {
 
         final List<Move> legalMoves = new ArrayList<>();
-        for (final int currentCandidateOffset : CANDIDATE_MOVE_COORDINATE) {
+        final int direction = this.pieceAlliance.getDirection();
 
-            int candidateDestination = this.piecePosition + (currentCandidateOffset * this.getPieceAlliance().getDirection());
+        final int candidateDestination = this.piecePosition + (8 * direction);
+        if (isValidTileCoordinate(candidateDestination) && !board.isTileOccupied(candidateDestination)) {
+            addPawnMove(legalMoves, new PawnMove(board, this, candidateDestination));
 
-            if (!isValidTileCoordinate(candidateDestination)) {
-                continue;
+            final int jumpDestination = this.piecePosition + (16 * direction);
+            if (this.isFirstMove() &&
+                    ((SEVENTH_RANK[this.piecePosition] && pieceAlliance.isBlack()) ||
+                    (SECOND_RANK[this.piecePosition] && pieceAlliance.isWhite())) &&
+                    !board.isTileOccupied(jumpDestination)) {
+                legalMoves.add(new PawnJump(board, this, jumpDestination));
             }
+        }
 
-            if (currentCandidateOffset == 8 && !board.getTile(candidateDestination).isTileOccupied()) {
-                // ADD PAWN PROMOTION
-                legalMoves.add(new PawnMove(board, this, candidateDestination));
+        final long attacks = PAWN_ATTACKS[this.pieceAlliance.ordinal()][this.piecePosition];
+        final Alliance opponent = this.pieceAlliance.isWhite() ? Alliance.BLACK : Alliance.WHITE;
+        for (long targets = attacks & board.getBitBoard().getOccupancy(opponent); targets != 0;
+             targets = BitBoard.clearLowestSquare(targets)) {
+            final int attackDestination = BitBoard.lowestSquare(targets);
+            addPawnMove(legalMoves, new PawnAttackMove(board, this, attackDestination,
+                    board.getTile(attackDestination).getPiece()));
+        }
 
-            } else if (currentCandidateOffset == 16 && this.isFirstMove() &&
-                    ((SEVENTH_RANK[this.piecePosition] && pieceAlliance.isBlack()) ||
-                    (SECOND_RANK[this.piecePosition] && pieceAlliance.isWhite()))) {
-
-                final int behindCanDest = this.piecePosition + (this.pieceAlliance.getDirection() * 8);
-                if (!board.getTile(behindCanDest).isTileOccupied() &&
-                        !board.getTile(candidateDestination).isTileOccupied()) {
-                    legalMoves.add(new PawnJump(board, this, candidateDestination));
-                }
-
-            } else if (currentCandidateOffset == 7 &&
-                    !((EIGHTH_COLUMN[this.piecePosition] && this.pieceAlliance.isWhite() ||
-                            FIRST_COLUMN[this.piecePosition] && this.pieceAlliance.isBlack()))) {
-                if (board.getTile(candidateDestination).isTileOccupied()) {
-                    final Piece pieceOnCandidate = board.getTile(candidateDestination).getPiece();
-                    if (this.pieceAlliance != pieceOnCandidate.getPieceAlliance()) {
-                        //ADD ATTACK MOVE
-                        legalMoves.add(new PawnAttackMove(board, this, candidateDestination, pieceOnCandidate));
-                    }
-
-                } else if(board.getEnPassantPawn() != null) {
-                    if(board.getEnPassantPawn().getPiecePosition() == this.piecePosition + (this.pieceAlliance.getOppositeDirection())){
-                        final Piece pieceOnCandidate = board.getEnPassantPawn();
-                        if(this.pieceAlliance != pieceOnCandidate.getPieceAlliance()){
-                            legalMoves.add(new PawnEnPassantAttack(board, this, candidateDestination, pieceOnCandidate));
-                        }
-
-                    }
-
-                }
-
-            } else if (currentCandidateOffset == 9 &&
-                    !((FIRST_COLUMN[this.piecePosition] && this.pieceAlliance.isWhite() ||
-                            EIGHTH_COLUMN[this.piecePosition] && this.pieceAlliance.isBlack()))) {
-                if (board.getTile(candidateDestination).isTileOccupied()) {
-                    final Piece pieceOnCandidate = board.getTile(candidateDestination).getPiece();
-                    if (this.pieceAlliance != pieceOnCandidate.getPieceAlliance()) {
-                        //ADD ATTACK MOVE
-                        legalMoves.add(new PawnAttackMove(board, this, candidateDestination, pieceOnCandidate));
-                    }
-                }else if(board.getEnPassantPawn() != null) {
-                    if(board.getEnPassantPawn().getPiecePosition() == this.piecePosition - (this.pieceAlliance.getOppositeDirection())){
-                        final Piece pieceOnCandidate = board.getEnPassantPawn();
-                        if(this.pieceAlliance != pieceOnCandidate.getPieceAlliance()){
-                            legalMoves.add(new PawnEnPassantAttack(board, this, candidateDestination, pieceOnCandidate));
-                        }
-
-                    }
-
-                }
+        final Pawn enPassantPawn = board.getEnPassantPawn();
+        if (enPassantPawn != null && enPassantPawn.getPieceAlliance() != this.pieceAlliance) {
+            // the pawn that jumped is captured on the tile it passed over
+            final int enPassantDestination = enPassantPawn.getPiecePosition() + (8 * direction);
+            if ((attacks & BitBoard.squareBit(enPassantDestination)) != 0) {
+                legalMoves.add(new PawnEnPassantAttack(board, this, enPassantDestination, enPassantPawn));
             }
-
         }
+
         return ImmutableList.copyOf(legalMoves);
     }
 
+    private void addPawnMove(final List<Move> legalMoves, final Move pawnMove) {
+        final int destination = pawnMove.getDestinationCoordinate();
+        if (this.pieceAlliance.isWhite() ? EIGHTH_RANK[destination] : FIRST_RANK[destination]) {
+            legalMoves.add(new PawnPromotion(pawnMove, PieceUtils.getQueen(this.pieceAlliance, destination, false)));
+            legalMoves.add(new PawnPromotion(pawnMove, PieceUtils.getRook(this.pieceAlliance, destination, false)));
+            legalMoves.add(new PawnPromotion(pawnMove, PieceUtils.getBishop(this.pieceAlliance, destination, false)));
+            legalMoves.add(new PawnPromotion(pawnMove, PieceUtils.getKnight(this.pieceAlliance, destination, false)));
+        } else {
+            legalMoves.add(pawnMove);
+        }
+    }
+
     @Override
     public Pawn movePiece(final Move move) {
-        return new Pawn(move.getMovePiece().getPieceAlliance(), move.getDestinationCoordinate());
+        return PieceUtils.getPawn(move.getMovePiece().getPieceAlliance(), move.getDestinationCoordinate(), false);
     }
 
     @Override
@@ -1,10 +1,16 @@
 package com.chessAI.piece;
 
 import com.chessAI.Alliance;
+import com.chessAI.board.BitBoard;
 import com.chessAI.board.Board;
 import com.chessAI.board.Move;
+import com.chessAI.board.Move.MajorAttackMove;
+import com.chessAI.board.Move.MajorMove;
+import com.google.common.collect.ImmutableList;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 
 public abstract class Piece {
     protected final PieceType pieceType;
@@ -36,6 +42,24 @@ public abstract class Piece {
 
     public abstract Piece movePiece(Move move);
 
+    protected Collection<Move> calculateMovesFromAttacks(final Board board, final long attacks) {
+        final List<Move> legalMoves = new ArrayList<>();
+        final BitBoard bitBoard = board.getBitBoard();
+        final long enemies = bitBoard.getOccupancy(this.pieceAlliance.isWhite() ? Alliance.BLACK : Alliance.WHITE);
+
+        for (long targets = attacks & ~bitBoard.getOccupancy(this.pieceAlliance); targets != 0;
+             targets = BitBoard.clearLowestSquare(targets)) {
+            final int candidateDestinationCoordinate = BitBoard.lowestSquare(targets);
+            if ((enemies & BitBoard.squareBit(candidateDestinationCoordinate)) == 0) {
+                legalMoves.add(new MajorMove(board, this, candidateDestinationCoordinate));
+            } else {
+                legalMoves.add(new MajorAttackMove(board, this, candidateDestinationCoordinate,
+                        board.getTile(candidateDestinationCoordinate).getPiece()));
+            }
+        }
+        return ImmutableList.copyOf(legalMoves);
+    }
+
     @Override
     public boolean equals(final Object other){
         if(this == other) {
@@ -0,0 +1,99 @@
+package com.chessAI.piece;
+
+import com.chessAI.Alliance;
+import com.chessAI.board.BoardUtils;
+import com.chessAI.piece.Piece.PieceType;
+
+// Pieces are immutable and only differ by type, alliance, tile and first-move flag,
+// so every possible piece is created once here and shared by all boards.
+public final class PieceUtils {
+
+    public static final int NUM_PIECES = 2 * PieceType.values().length * BoardUtils.NUM_TILES * 2;
+
+    private static final Piece[] PIECE_CACHE = createAllPossiblePieces();
+
+    private PieceUtils() {
+        throw new RuntimeException("Not Instantiable");
+    }
+
+    public static int indexOf(final Alliance alliance, final PieceType pieceType, final int piecePosition,
+                              final boolean isFirstMove) {
+        return ((((alliance.ordinal() * PieceType.values().length) + pieceType.ordinal()) * BoardUtils.NUM_TILES
+                + piecePosition) << 1) | (isFirstMove ? 1 : 0);
+    }
+
+    public static int indexOf(final Piece piece) {
+        return indexOf(piece.getPieceAlliance(), piece.getPieceType(), piece.getPiecePosition(), piece.isFirstMove());
+    }
+
+    public static Piece getPiece(final int index) {
+        return PIECE_CACHE[index];
+    }
+
+    public static Piece getPiece(final Alliance alliance, final PieceType pieceType, final int piecePosition,
+                                 final boolean isFirstMove) {
+        return PIECE_CACHE[indexOf(alliance, pieceType, piecePosition, isFirstMove)];
+    }
+
+    // the shared instance equal to the given piece
+    public static Piece intern(final Piece piece) {
+        return PIECE_CACHE[indexOf(piece)];
+    }
+
+    public static Pawn getPawn(final Alliance alliance, final int piecePosition, final boolean isFirstMove) {
+        return (Pawn) getPiece(alliance, PieceType.PAWN, piecePosition, isFirstMove);
+    }
+
+    public static Knight getKnight(final Alliance alliance, final int piecePosition, final boolean isFirstMove) {
+        return (Knight) getPiece(alliance, PieceType.KNIGHT, piecePosition, isFirstMove);
+    }
+
+    public static Bishop getBishop(final Alliance alliance, final int piecePosition, final boolean isFirstMove) {
+        return (Bishop) getPiece(alliance, PieceType.BISHOP, piecePosition, isFirstMove);
+    }
+
+    public static Rook getRook(final Alliance alliance, final int piecePosition, final boolean isFirstMove) {
+        return (Rook) getPiece(alliance, PieceType.ROOK, piecePosition, isFirstMove);
+    }
+
+    public static Queen getQueen(final Alliance alliance, final int piecePosition, final boolean isFirstMove) {
+        return (Queen) getPiece(alliance, PieceType.QUEEN, piecePosition, isFirstMove);
+    }
+
+    public static King getKing(final Alliance alliance, final int piecePosition, final boolean isFirstMove) {
+        return (King) getPiece(alliance, PieceType.KING, piecePosition, isFirstMove);
+    }
+
+    private static Piece[] createAllPossiblePieces() {
+        final Piece[] pieces = new Piece[NUM_PIECES];
+        for (final Alliance alliance : Alliance.values()) {
+            for (final PieceType pieceType : PieceType.values()) {
+                for (int position = 0; position < BoardUtils.NUM_TILES; position++) {
+                    for (final boolean isFirstMove : new boolean[]{false, true}) {
+                        pieces[indexOf(alliance, pieceType, position, isFirstMove)] =
+                                createPiece(alliance, pieceType, position, isFirstMove);
+                    }
+                }
+            }
+        }
+        return pieces;
+    }
+
+    private static Piece createPiece(final Alliance alliance, final PieceType pieceType, final int position,
+                                     final boolean isFirstMove) {
+        switch (pieceType) {
+            case PAWN:
+                return new Pawn(alliance, position, isFirstMove);
+            case KNIGHT:
+                return new Knight(alliance, position, isFirstMove);
+            case BISHOP:
+                return new Bishop(alliance, position, isFirstMove);
+            case ROOK:
+                return new Rook(alliance, position, isFirstMove);
+            case QUEEN:
+                return new Queen(alliance, position, isFirstMove);
+            default:
+                return new King(alliance, position, isFirstMove);
+        }
+    }
+}
@@ -2,19 +2,12 @@ package com.chessAI.piece;
 
 import com.chessAI.Alliance;
 import com.chessAI.board.Board;
-import com.chessAI.board.BoardUtils;
 import com.chessAI.board.Move;
-import com.chessAI.board.Move.MajorAttackMove;
-import com.google.common.collect.ImmutableList;
 
-import java.util.ArrayList;
 import java.util.Collection;
-import java.util.List;
 
 public class Rook extends Piece{
 
-    private final static int[] CANDIDATE_MOVE_COORDINATES = {-8, -1, 1, 8};
-
     public Rook(Alliance pieceAlliance, int piecePosition) {
 
         super(PieceType.ROOK, piecePosition, pieceAlliance, true);
@@ -27,46 +20,17 @@ public class Rook extends Piece{
 
     @Override
     public Collection<Move> calculateLegalMoves(final Board board) {
-
-        final List<Move> legalMoves = new ArrayList<>();
-        for (final int currentCandidateOffset : CANDIDATE_MOVE_COORDINATES) {
-            int candidateDestinationCoordinate = this.piecePosition;
-            while (BoardUtils.isValidTileCoordinate(candidateDestinationCoordinate)) {
-
-                candidateDestinationCoordinate += currentCandidateOffset;
-                if (BoardUtils.isValidTileCoordinate(candidateDestinationCoordinate)) {
-                    final Piece pieceAtDestination = board.getTile(candidateDestinationCoordinate).getPiece();
-                    if (pieceAtDestination == null) {
-                        legalMoves.add(new Move.MajorMove(board, this, candidateDestinationCoordinate));
-                    } else {
-                        final Alliance pieceAtDestinationAllegiance = pieceAtDestination.getPieceAlliance();
-                        if (this.pieceAlliance != pieceAtDestinationAllegiance) {
-                            legalMoves.add(new MajorAttackMove(board, this, candidateDestinationCoordinate,
-                                    pieceAtDestination));
-                        }
-                        break;
-                    }
-                }
-            }
-        }
-
-        return ImmutableList.copyOf(legalMoves);
+        return calculateMovesFromAttacks(board,
+                board.getAttackMap().getAttacksFrom(this.piecePosition));
     }
 
     @Override
     public Rook movePiece(final Move move) {
-        return new Rook(move.getMovePiece().getPieceAlliance(), move.getDestinationCoordinate());
+        return PieceUtils.getRook(move.getMovePiece().getPieceAlliance(), move.getDestinationCoordinate(), false);
     }
 
     @Override
     public String toString(){
         return PieceType.ROOK.toString();
     }
-
-    private static boolean isFirstColumnExclusion(final int currentPosition, final int candidateOffset){
-           return BoardUtils.FIRST_COLUMN[currentPosition] && (candidateOffset == -1);
-    }
-    private static boolean isEighthColumnExclusion(final int currentPosition, final int candidateOffset){
-            return BoardUtils.EIGHTH_COLUMN[currentPosition] && (candidateOffset == 1);
-    }
 }
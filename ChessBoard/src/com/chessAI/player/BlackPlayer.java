@@ -6,6 +6,7 @@ import com.chessAI.board.Move;
 import com.chessAI.board.Tile;
 import com.chessAI.piece.Piece;
 import com.chessAI.piece.Rook;
+import com.google.common.base.Supplier;
 import com.google.common.collect.ImmutableList;
 
 import java.util.ArrayList;
@@ -15,10 +16,8 @@ import java.util.List;
 import static com.chessAI.board.Move.*;
 
 public class BlackPlayer extends Player {
-    public BlackPlayer(Board board, Collection<Move> whiteStandardLegalMoves,
-                                    Collection<Move> blackStandardLegalMoves) {
-
-        super(board, blackStandardLegalMoves, whiteStandardLegalMoves);
+    public BlackPlayer(final Board board, final Supplier<Collection<Move>> blackStandardLegalMoves) {
+        super(board, blackStandardLegalMoves);
     }
 
     @Override
@@ -31,22 +30,27 @@ public class BlackPlayer extends Player {
         return Alliance.BLACK;
     }
 
+    @Override
+    public Alliance getOpponentAlliance() {
+        return Alliance.WHITE;
+    }
+
     @Override
     public Player getOpponent() {
         return this.board.whitePlayer();
     }
 
     @Override
-    protected Collection<Move> calculateKingCastles(Collection<Move> playerLegals, Collection<Move> opponentsLegals) {
+    protected Collection<Move> calculateKingCastles() {
         final List<Move> kingCastles = new ArrayList<>();
 
         if(this.playerKing.isFirstMove() && !this.isInCheck()){
-            if(!this.board.getTile(5).isTileOccupied() && !this.board.getTile(6).isTileOccupied()){
+            if(!this.board.isTileOccupied(5) && !this.board.isTileOccupied(6)){
                 final Tile rookTile = this.board.getTile(7);
 
                 if(rookTile.isTileOccupied() && rookTile.getPiece().isFirstMove()){
-                    if(Player.calculateAttacksOnTile(5, opponentsLegals).isEmpty()
-                            && Player.calculateAttacksOnTile(6, opponentsLegals).isEmpty()
+                    if(!this.board.isSquareAttacked(5, getOpponentAlliance())
+                            && !this.board.isSquareAttacked(6, getOpponentAlliance())
                             && rookTile.getPiece().getPieceType().isRook()){
                         kingCastles.add(new KingSideCastleMove(this.board, this.playerKing, 6,
                                                                   (Rook) rookTile.getPiece(), rookTile.getTileCoordinate(), 5));
@@ -54,14 +58,14 @@ public class BlackPlayer extends Player {
                 }
             }
 
-            if(!this.board.getTile(1).isTileOccupied()
-                    && !this.board.getTile(2).isTileOccupied()
-                    && !this.board.getTile(3).isTileOccupied()){
+            if(!this.board.isTileOccupied(1)
+                    && !this.board.isTileOccupied(2)
+                    && !this.board.isTileOccupied(3)){
                         final Tile rookTile = this.board.getTile(0);
 
                 if(rookTile.isTileOccupied() && rookTile.getPiece().isFirstMove() &&
-                Player.calculateAttacksOnTile(2, opponentsLegals).isEmpty() &&
-                        Player.calculateAttacksOnTile(3,opponentsLegals).isEmpty()
+                !this.board.isSquareAttacked(2, getOpponentAlliance()) &&
+                        !this.board.isSquareAttacked(3, getOpponentAlliance())
                         && rookTile.getPiece().getPieceType().isRook()){
                     kingCastles.add(new QueenSideCastleMove(this.board, this.playerKing, 2,
                                     (Rook) rookTile.getPiece(), rookTile.getTileCoordinate(), 3));
@@ -1,28 +1,45 @@
 package com.chessAI.player;
 
 import com.chessAI.Alliance;
+import com.chessAI.board.BitBoard;
 import com.chessAI.board.Board;
+import com.chessAI.board.BoardUtils;
 import com.chessAI.board.Move;
+import com.chessAI.board.MoveGenerator;
+import com.chessAI.board.MoveIndex;
+import com.chessAI.board.MoveList;
+import com.chessAI.board.MoveUtils;
+import com.chessAI.board.Position;
 import com.chessAI.piece.King;
 import com.chessAI.piece.Piece;
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Iterables;
 
-import java.util.ArrayList;
 import java.util.Collection;
-import java.util.List;
 
 public abstract class Player {
         protected final Board board;
         protected final King playerKing;
-        protected final Collection<Move> legalMoves;
-        private final boolean isInCheck;
-
-        Player(final Board board, final Collection<Move> legalMoves, final Collection<Move> opponentMoves){
+        private final Supplier<Collection<Move>> legalMoves;
+        private final Supplier<Boolean> isInCheck;
+        private final Supplier<Boolean> hasEscapeMoves;
+        // the destinations of the strictly legal moves by source tile, promotions to different
+        // pieces share one bit as they are legal or illegal together
+        private final Supplier<long[]> strictLegalDestinations;
+        private final Supplier<MoveIndex> moveIndex;
+
+        Player(final Board board, final Supplier<Collection<Move>> standardLegalMoves){
             this.board = board;
             this.playerKing = establishKing();
-            this.legalMoves = ImmutableList.copyOf(Iterables.concat(legalMoves, calculateKingCastles(legalMoves, opponentMoves)));
-            this.isInCheck = !Player.calculateAttacksOnTile(this.playerKing.getPiecePosition(), opponentMoves).isEmpty();
+            this.legalMoves = Suppliers.memoize(() -> ImmutableList.copyOf(Iterables.concat(standardLegalMoves.get(),
+                    calculateKingCastles())));
+            this.isInCheck = Suppliers.memoize(() ->
+                    this.board.isSquareAttacked(this.playerKing.getPiecePosition(), getOpponentAlliance()));
+            this.hasEscapeMoves = Suppliers.memoize(this::calculateEscapeMoves);
+            this.strictLegalDestinations = Suppliers.memoize(this::calculateStrictLegalDestinations);
+            this.moveIndex = Suppliers.memoize(() -> new MoveIndex(getLegalMoves()));
         }
 
         public King getPlayerKing(){
@@ -30,19 +47,9 @@ public abstract class Player {
         }
 
         public Collection<Move> getLegalMoves(){
-            return this.legalMoves;
+            return this.legalMoves.get();
         }
 
-        static Collection<Move> calculateAttacksOnTile(int piecePosition, Collection<Move> moves) {
-            final List<Move> attackMoves = new ArrayList<>();
-            for(final Move move : moves){
-                if(piecePosition == move.getDestinationCoordinate()){
-                    attackMoves.add(move);
-                }
-            }
-            return ImmutableList.copyOf(attackMoves);
-    }
-
     private King establishKing(){
         for(final Piece piece : getActivePieces()){
             if( piece.getPieceType().isKing()){
@@ -52,12 +59,16 @@ public abstract class Player {
         throw new RuntimeException("NO VALID KING FOUND");
     }
 
+    public MoveIndex getMoveIndex(){
+            return this.moveIndex.get();
+    }
+
     public boolean isMoveLegal(final Move move){
-            return this.legalMoves.contains(move);
+            return getMoveIndex().contains(move);
     }
 
     public boolean isInCheck(){
-            return this.isInCheck;
+            return this.isInCheck.get();
     }
 
     public boolean isInCheckMate(){
@@ -65,11 +76,23 @@ public abstract class Player {
     }
 
     public boolean isInStaleMate(){
-        return !this.isInCheck && !hasEscapeMoves();
+        return !this.isInCheck() && !hasEscapeMoves();
     }
 
     protected boolean hasEscapeMoves() {
-            for (final Move move : this.legalMoves){
+            return this.hasEscapeMoves.get();
+    }
+
+    private boolean calculateEscapeMoves() {
+            if (isMoveMaker()){
+                for (final long destinations : this.strictLegalDestinations.get()){
+                    if (destinations != 0){
+                        return true;
+                    }
+                }
+                return false;
+            }
+            for (final Move move : getLegalMoves()){
                 final MoveTransition transition = makeMove(move);
                 if(transition.getMoveStatus().isDone()){
                     return true;
@@ -78,20 +101,69 @@ public abstract class Player {
             return false;
     }
 
+    // the legal moves of this player counted without executing any of them, which is all
+    // perft needs at its last ply
+    public int countLegalMoves(){
+            if (!isMoveMaker()){
+                int count = 0;
+                for (final Move move : getLegalMoves()){
+                    if (makeMove(move).getMoveStatus().isDone()){
+                        count++;
+                    }
+                }
+                return count;
+            }
+            int count = 0;
+            for (final Move move : getLegalMoves()){
+                if (isStrictlyLegal(move)){
+                    count++;
+                }
+            }
+            return count;
+    }
+
     public boolean isCastled(){
             return false;
     }
 
+    // pins and check evasions are resolved by the generator, nothing is executed to find out
+    private long[] calculateStrictLegalDestinations() {
+            final MoveList moves = new MoveList();
+            MoveGenerator.generateLegalMoves(new Position(this.board), moves);
+            final long[] destinations = new long[BoardUtils.NUM_TILES];
+            for (int i = 0; i < moves.size(); i++){
+                final int move = moves.get(i);
+                destinations[MoveUtils.getFrom(move)] |= BitBoard.squareBit(MoveUtils.getTo(move));
+            }
+            return destinations;
+    }
+
+    // only asked about moves of this player's move index, which fixes everything but the from and to tiles
+    private boolean isStrictlyLegal(final Move move){
+            return (this.strictLegalDestinations.get()[move.getCurrentCoordinate()]
+                    & BitBoard.squareBit(move.getDestinationCoordinate())) != 0;
+    }
+
+    private boolean isMoveMaker(){
+            return this.board.currentPlayer() == this;
+    }
+
     public MoveTransition makeMove(final Move move){
             if (!isMoveLegal(move)){
                 return new MoveTransition(this.board, move, MoveStatus.ILLEGAL_MOVE);
             }
 
-            final Board transitionBoard = move.execute();
+            if (isMoveMaker()){
+                if (!isStrictlyLegal(move)){
+                    return new MoveTransition(this.board, move, MoveStatus.LEAVES_PLAYER_IN_CHECK);
+                }
+                return new MoveTransition(move.execute(), move, MoveStatus.DONE);
+            }
 
-            final Collection<Move> kingAttacks = Player.calculateAttacksOnTile(transitionBoard.currentPlayer().getOpponent().getPlayerKing().getPiecePosition(),transitionBoard.currentPlayer().getLegalMoves());
+            final Board transitionBoard = move.execute();
 
-            if(!kingAttacks.isEmpty()){
+            // only the replying side's standard moves get generated here
+            if(transitionBoard.currentPlayer().getOpponent().isInCheck()){
                 return new MoveTransition(this.board, move, MoveStatus.LEAVES_PLAYER_IN_CHECK);
             }
             return new MoveTransition(transitionBoard, move, MoveStatus.DONE);
@@ -99,8 +171,9 @@ public abstract class Player {
 
     public abstract Collection<Piece> getActivePieces();
     public abstract Alliance getAlliance();
+    public abstract Alliance getOpponentAlliance();
     public abstract Player getOpponent();
-    protected abstract Collection<Move> calculateKingCastles(Collection<Move> playerLegals, Collection<Move> opponentsLegals);
+    protected abstract Collection<Move> calculateKingCastles();
 
 }
 
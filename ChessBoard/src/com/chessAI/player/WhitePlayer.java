@@ -6,6 +6,7 @@ import com.chessAI.board.Move;
 import com.chessAI.board.Tile;
 import com.chessAI.piece.Piece;
 import com.chessAI.piece.Rook;
+import com.google.common.base.Supplier;
 import com.google.common.collect.ImmutableList;
 
 import java.util.ArrayList;
@@ -16,11 +17,8 @@ import static com.chessAI.board.Move.*;
 
 public class WhitePlayer extends Player {
 
-    public WhitePlayer(Board board, Collection<Move> whiteStandardLegalMoves,
-                       Collection<Move> blackStandardLegalMoves){
-
-        super(board, whiteStandardLegalMoves, blackStandardLegalMoves);
-
+    public WhitePlayer(final Board board, final Supplier<Collection<Move>> whiteStandardLegalMoves) {
+        super(board, whiteStandardLegalMoves);
     }
 
     @Override
@@ -33,23 +31,28 @@ public class WhitePlayer extends Player {
         return Alliance.WHITE;
     }
 
+    @Override
+    public Alliance getOpponentAlliance() {
+        return Alliance.BLACK;
+    }
+
     @Override
     public Player getOpponent() {
         return this.board.blackPlayer();
     }
 
     @Override
-    protected Collection<Move> calculateKingCastles(final Collection<Move> playerLegals, final Collection<Move> opponentsLegals) {
+    protected Collection<Move> calculateKingCastles() {
         final List<Move> kingCastles = new ArrayList<>();
 
         if(this.playerKing.isFirstMove() && !this.isInCheck()){
 
-            if(!this.board.getTile(61).isTileOccupied() && !this.board.getTile(62).isTileOccupied()){
+            if(!this.board.isTileOccupied(61) && !this.board.isTileOccupied(62)){
                 final Tile rookTile = this.board.getTile(63);
 
                 if(rookTile.isTileOccupied() && rookTile.getPiece().isFirstMove()){
-                    if(Player.calculateAttacksOnTile(61, opponentsLegals).isEmpty()
-                        && Player.calculateAttacksOnTile(62, opponentsLegals).isEmpty()
+                    if(!this.board.isSquareAttacked(61, getOpponentAlliance())
+                        && !this.board.isSquareAttacked(62, getOpponentAlliance())
                         && rookTile.getPiece().getPieceType().isRook()){
                                     kingCastles.add(new KingSideCastleMove(this.board, playerKing, 62,
                                     (Rook) rookTile.getPiece(), rookTile.getTileCoordinate(),61));
@@ -58,13 +61,13 @@ public class WhitePlayer extends Player {
 
             }
 
-            if(!this.board.getTile(59).isTileOccupied() && !this.board.getTile(58).isTileOccupied()
-                    && !this.board.getTile(57).isTileOccupied()){
+            if(!this.board.isTileOccupied(59) && !this.board.isTileOccupied(58)
+                    && !this.board.isTileOccupied(57)){
                 final Tile rookTile = this.board.getTile(56);
 
                 if(rookTile.isTileOccupied() && rookTile.getPiece().isFirstMove() &&
-                Player.calculateAttacksOnTile(58, opponentsLegals).isEmpty() &&
-                Player.calculateAttacksOnTile(59, opponentsLegals).isEmpty() &&
+                !this.board.isSquareAttacked(58, getOpponentAlliance()) &&
+                !this.board.isSquareAttacked(59, getOpponentAlliance()) &&
                 rookTile.getPiece().getPieceType().isRook()){
                     kingCastles.add(new QueenSideCastleMove(this.board,this.playerKing,58,
                                    (Rook)rookTile.getPiece(), rookTile.getTileCoordinate(), 59));